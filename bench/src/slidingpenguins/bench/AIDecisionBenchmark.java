@@ -0,0 +1,59 @@
+package slidingpenguins.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import slidingpenguins.core.GreedyAIController;
+import slidingpenguins.core.IcyTerrain;
+import slidingpenguins.core.PenguinController;
+import slidingpenguins.objects.penguins.Penguin;
+
+/**
+ * Measures the greedy AI direction decision (formerly decideAIDirection)
+ * for every penguin of the terrain.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AIDecisionBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int gridSize;
+
+    @Param({"0.1", "0.5", "0.9"})
+    public double density;
+
+    private IcyTerrain terrain;
+    private List<Penguin> penguins;
+    private PenguinController controller;
+
+    @Setup
+    public void setUp() {
+        terrain = TerrainFixture.create(gridSize, density);
+        penguins = terrain.getPenguins();
+        controller = new GreedyAIController();
+    }
+
+    @Benchmark
+    public void chooseDirections(Blackhole blackhole) {
+        for (Penguin p : penguins) {
+            blackhole.consume(controller.chooseDirection(terrain, p));
+        }
+    }
+}
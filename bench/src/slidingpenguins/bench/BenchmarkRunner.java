@@ -0,0 +1,25 @@
+package slidingpenguins.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the engine benchmarks with the GC profiler attached, which adds the
+ * allocation rate (gc.alloc.rate.norm, bytes per operation) to the throughput
+ * and latency numbers.
+ * Usage: BenchmarkRunner [regex]  (e.g. "Render" to run only RenderBenchmark)
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "slidingpenguins.bench.*";
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
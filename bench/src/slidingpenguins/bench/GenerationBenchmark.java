@@ -0,0 +1,50 @@
+package slidingpenguins.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import slidingpenguins.core.GameConfig;
+import slidingpenguins.core.IcyTerrain;
+
+/**
+ * Measures content generation: building a seeded IcyTerrain runs
+ * generatePenguins, generateHazards and generateFoods on an empty grid
+ * until the requested fraction of cells is occupied.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GenerationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int gridSize;
+
+    @Param({"0.1", "0.5", "0.9"})
+    public double density;
+
+    private GameConfig config;
+
+    @Setup
+    public void setUp() {
+        config = TerrainFixture.config(gridSize, density);
+    }
+
+    @Benchmark
+    public IcyTerrain generate() {
+        return new IcyTerrain(TerrainFixture.SEED, config);
+    }
+}
@@ -0,0 +1,64 @@
+package slidingpenguins.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import slidingpenguins.core.Direction;
+import slidingpenguins.core.IcyTerrain;
+import slidingpenguins.objects.penguins.Penguin;
+import slidingpenguins.util.GameOutput;
+
+/**
+ * Measures exploring a move and taking it back with makeMove/undo, the inner
+ * step of a tree search. Every invocation leaves the terrain as it found it,
+ * so the terrain is built once per trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MakeUndoBenchmark {
+
+    @Param({"10", "32", "100"})
+    public int gridSize;
+
+    @Param({"0.1", "0.5", "0.9"})
+    public double density;
+
+    private IcyTerrain terrain;
+    private List<Penguin> penguins;
+
+    @Setup
+    public void setUp() {
+        GameOutput.setOutput(null);
+        terrain = TerrainFixture.create(gridSize, density);
+        penguins = terrain.getPenguins();
+    }
+
+    @Benchmark
+    public int makeAndUndoAllDirections() {
+        int x = 0;
+        for (Penguin p : penguins) {
+            for (Direction d : Direction.values()) {
+                terrain.makeMove(p, d, -1);
+                x += p.getX();
+                terrain.undo();
+            }
+        }
+        return x;
+    }
+}
@@ -0,0 +1,71 @@
+package slidingpenguins.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import slidingpenguins.core.Direction;
+import slidingpenguins.core.IcyTerrain;
+import slidingpenguins.objects.penguins.Penguin;
+import slidingpenguins.util.GameOutput;
+
+/**
+ * Measures IcyTerrain.moveObject: full slides of every penguin, including the
+ * collision chains resolved by handleCollision (pushed blocks, sea lion bounces,
+ * food pickups and falls).
+ * The terrain is built once per trial. The slides are made with makeMove and
+ * taken back with undo, newest first, so every invocation starts from the same
+ * terrain; the measured time includes the undo, which only reverts the changed
+ * cells and objects (see MakeUndoBenchmark for single moves).
+ * Rebuilding the terrain before every invocation would cost far more than the
+ * slides themselves and swamp them in setup and timer overhead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MoveBenchmark {
+
+    @Param({"10", "32", "100"})
+    public int gridSize;
+
+    @Param({"0.1", "0.5", "0.9"})
+    public double density;
+
+    private IcyTerrain terrain;
+    private List<Penguin> penguins;
+
+    @Setup
+    public void setUp() {
+        GameOutput.setOutput(null);
+        terrain = TerrainFixture.create(gridSize, density);
+        penguins = terrain.getPenguins();
+    }
+
+    @Benchmark
+    public int slideAllPenguins() {
+        Direction[] dirs = Direction.values();
+        int i = 0;
+        for (Penguin p : penguins) {
+            terrain.makeMove(p, dirs[i++ % dirs.length], -1);
+        }
+        int x = penguins.get(0).getX();
+        for (int j = 0; j < penguins.size(); j++) {
+            terrain.undo();
+        }
+        return x;
+    }
+}
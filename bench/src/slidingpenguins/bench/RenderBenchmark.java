@@ -0,0 +1,52 @@
+package slidingpenguins.bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import slidingpenguins.core.IcyTerrain;
+import slidingpenguins.util.GridRenderer;
+
+/**
+ * Measures GridRenderer.render drawing a full frame into a discarding stream.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RenderBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int gridSize;
+
+    @Param({"0.1", "0.5", "0.9"})
+    public double density;
+
+    private IcyTerrain terrain;
+    private GridRenderer renderer;
+
+    @Setup
+    public void setUp() {
+        terrain = TerrainFixture.create(gridSize, density);
+        renderer = new GridRenderer(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @Benchmark
+    public void render() {
+        renderer.render(terrain);
+    }
+}
@@ -0,0 +1,86 @@
+package slidingpenguins.bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import slidingpenguins.core.IcyTerrain;
+import slidingpenguins.data.ScoreBoard;
+import slidingpenguins.objects.food.Food;
+import slidingpenguins.objects.food.FoodType;
+import slidingpenguins.objects.penguins.Penguin;
+import slidingpenguins.util.GameOutput;
+import slidingpenguins.util.OutputSink;
+
+/**
+ * Measures ScoreBoard.displayScoreBoard.
+ * The penguins share the food of the terrain between them: on a grid of
+ * gridSize x gridSize cells with the given density, each penguin carries
+ * density * cells / penguins items. The output of the benchmark thread is
+ * discarded while measuring.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ScoreBoardBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int gridSize;
+
+    @Param({"0.1", "0.5", "0.9"})
+    public double density;
+
+    private List<Penguin> penguins;
+    private Penguin myPenguin;
+    private ScoreBoard scoreBoard;
+    private OutputSink originalOutput;
+
+    @Setup
+    public void setUp() {
+        IcyTerrain terrain = new IcyTerrain(TerrainFixture.SEED);
+        penguins = new ArrayList<>(terrain.getPenguins());
+        myPenguin = terrain.getMyPenguin();
+        scoreBoard = new ScoreBoard();
+
+        Random random = new Random(TerrainFixture.SEED);
+        FoodType[] types = FoodType.values();
+        long foodPerPenguin = Math.round(density * gridSize * gridSize / penguins.size());
+        for (Penguin p : penguins) {
+            for (long i = 0; i < foodPerPenguin; i++) {
+                p.addFood(Food.of(types[random.nextInt(types.length)], random.nextInt(5) + 1));
+            }
+        }
+
+        originalOutput = GameOutput.getSink();
+        GameOutput.setOutput(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        GameOutput.setSink(originalOutput);
+    }
+
+    @Benchmark
+    public void displayScoreBoard() {
+        scoreBoard.displayScoreBoard(penguins, myPenguin);
+    }
+}
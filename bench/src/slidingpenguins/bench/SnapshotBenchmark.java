@@ -0,0 +1,58 @@
+package slidingpenguins.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import slidingpenguins.core.IcyTerrain;
+import slidingpenguins.core.TerrainSnapshot;
+
+/**
+ * Measures capturing the full terrain state into a reused snapshot and
+ * restoring it, the two operations a rollback or a speculative search repeats.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SnapshotBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int gridSize;
+
+    @Param({"0.1", "0.5"})
+    public double density;
+
+    private IcyTerrain terrain;
+    private TerrainSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        terrain = TerrainFixture.create(gridSize, density);
+        snapshot = terrain.snapshot();
+    }
+
+    @Benchmark
+    public TerrainSnapshot save() {
+        terrain.saveSnapshot(snapshot);
+        return snapshot;
+    }
+
+    @Benchmark
+    public IcyTerrain restore() {
+        terrain.restore(snapshot);
+        return terrain;
+    }
+}
@@ -0,0 +1,43 @@
+package slidingpenguins.bench;
+
+import slidingpenguins.core.GameConfig;
+import slidingpenguins.core.IcyTerrain;
+
+/**
+ * Builds reproducible terrains for the benchmarks.
+ * A terrain is generated from a fixed seed with entity counts derived from the
+ * requested density, so every fork and iteration measures exactly the same layout.
+ */
+final class TerrainFixture {
+
+    static final int SEED = 42;
+
+    private TerrainFixture() {
+    }
+
+    /**
+     * Creates a square terrain with the given object density.
+     * @param size Number of rows and columns
+     * @param density Fraction of cells (0..1) that should be occupied
+     * @return The populated terrain
+     */
+    static IcyTerrain create(int size, double density) {
+        return new IcyTerrain(SEED, config(size, density));
+    }
+
+    /**
+     * Configuration of a square terrain with the given object density.
+     * The standard three penguins are kept; the remaining occupied cells are
+     * split between hazards and food in the ratio of the standard game (15:20).
+     * @param size Number of rows and columns
+     * @param density Fraction of cells (0..1) that should be occupied
+     */
+    static GameConfig config(int size, double density) {
+        int penguins = GameConfig.DEFAULT.getPenguinCount();
+        int objects = (int) Math.max(0, Math.round(density * size * size) - penguins);
+        int hazards = objects * 15 / 35;
+        return GameConfig.DEFAULT
+                .withGridSize(size, size)
+                .withEntityCounts(penguins, hazards, objects - hazards);
+    }
+}
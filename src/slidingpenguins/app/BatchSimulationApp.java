@@ -0,0 +1,31 @@
+package slidingpenguins.app;
+
+import slidingpenguins.sim.BatchSimulator;
+import slidingpenguins.sim.BatchStatistics;
+
+/**
+ * Command line entry point for batch simulations.
+ * Usage: BatchSimulationApp fromSeed toSeed [threads]
+ * Plays one headless game per seed in [fromSeed, toSeed) and prints the aggregate statistics.
+ */
+public class BatchSimulationApp {
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: BatchSimulationApp fromSeed toSeed [threads]");
+            return;
+        }
+        int fromSeed = Integer.parseInt(args[0]);
+        int toSeed = Integer.parseInt(args[1]);
+        BatchSimulator simulator = args.length > 2
+                ? new BatchSimulator(Integer.parseInt(args[2]))
+                : new BatchSimulator();
+
+        long start = System.nanoTime();
+        BatchStatistics stats = simulator.run(fromSeed, toSeed);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println(stats);
+        System.out.println("Elapsed: " + elapsedMillis + " ms");
+    }
+}
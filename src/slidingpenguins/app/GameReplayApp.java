@@ -0,0 +1,107 @@
+package slidingpenguins.app;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import slidingpenguins.core.Direction;
+import slidingpenguins.core.IcyTerrain;
+import slidingpenguins.objects.food.FoodType;
+import slidingpenguins.objects.penguins.Penguin;
+import slidingpenguins.replay.EntityKind;
+import slidingpenguins.replay.GameLogVisitor;
+import slidingpenguins.replay.GameReplayer;
+import slidingpenguins.util.GridRenderer;
+
+/**
+ * Command line entry point for inspecting a recorded game.
+ * Usage: GameReplayApp logFile [turn]
+ * Prints the events of the given turn (the last one by default) and the grid as it was after that turn.
+ */
+public class GameReplayApp {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: GameReplayApp logFile [turn]");
+            return;
+        }
+        GameReplayer replayer = GameReplayer.open(Path.of(args[0]));
+        int turn = args.length > 1 ? Integer.parseInt(args[1]) : replayer.getTurnCount();
+
+        System.out.println("Seed " + replayer.getSeed() + ", " + replayer.getConfig());
+        System.out.println(replayer.getTurnCount() + " turns recorded.");
+        if (turn > 0) {
+            // Logs refer to penguins by turn order, which follows the IDs
+            List<Penguin> turnOrder = new ArrayList<>(replayer.replayTo(0).getPenguins());
+            turnOrder.sort(Comparator.comparing(Penguin::getId));
+            replayer.acceptTurn(turn, new EventPrinter(turnOrder));
+        }
+
+        IcyTerrain terrain = replayer.replayTo(turn);
+        System.out.println("\nThe icy terrain grid after turn " + turn + ":");
+        new GridRenderer().render(terrain);
+    }
+
+    /**
+     * Prints one line per event. Penguins are shown by their IDs (P1, P2, ...).
+     */
+    private static class EventPrinter implements GameLogVisitor {
+
+        private final List<Penguin> turnOrder;
+
+        EventPrinter(List<Penguin> turnOrder) {
+            this.turnOrder = turnOrder;
+        }
+
+        @Override
+        public void onTurn(int turn) {
+            System.out.println("\n*** Turn " + turn + " ***");
+        }
+
+        @Override
+        public void onDirection(int penguin, Direction direction) {
+            System.out.println(id(penguin) + " chooses to move " + direction);
+        }
+
+        @Override
+        public void onAbility(int penguin, boolean used) {
+            System.out.println(id(penguin) + (used ? " uses" : " does not use") + " its special action");
+        }
+
+        @Override
+        public void onRoyalStep(int penguin, Direction direction) {
+            System.out.println(id(penguin) + " moves one square to the " + direction);
+        }
+
+        @Override
+        public void onCollision(EntityKind slider, EntityKind target, int x, int y) {
+            System.out.println(slider + " collided with " + target + " at (" + x + ", " + y + ")");
+        }
+
+        @Override
+        public void onFoodPickup(int penguin, FoodType type, int weight) {
+            System.out.println(id(penguin) + " takes the " + type + " (Weight=" + weight + " units)");
+        }
+
+        @Override
+        public void onElimination(int penguin) {
+            System.out.println(id(penguin) + " is removed from the game");
+        }
+
+        @Override
+        public void onStun(int penguin) {
+            System.out.println(id(penguin) + " is stunned");
+        }
+
+        @Override
+        public void onGameEnd(int turnsPlayed) {
+            System.out.println("\nGame over after " + turnsPlayed + " turns");
+        }
+
+        private String id(int penguin) {
+            return turnOrder.get(penguin).getId();
+        }
+    }
+}
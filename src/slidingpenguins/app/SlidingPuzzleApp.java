@@ -1,18 +1,44 @@
 package slidingpenguins.app;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 import slidingpenguins.core.IcyTerrain;
+import slidingpenguins.replay.GameRecorder;
+import slidingpenguins.util.AsyncOutputSink;
+import slidingpenguins.util.AsyncOutputSink.OverflowPolicy;
+import slidingpenguins.util.GameOutput;
+import slidingpenguins.util.OutputSink;
 
 /**
  * Main application class that runs the Sliding Penguins Puzzle Game.
  * According to the assignment, the main method should only initialize
  * an IcyTerrain object and delegate the game/menu logic to it.
+ * Optionally records the game: SlidingPuzzleApp [logFile] (see GameReplayApp).
  */
 public class SlidingPuzzleApp {
 
-    public static void main(String[] args) {
+    // Room for a few turns of narration and frames before the game waits for the console
+    private static final int OUTPUT_BUFFER_SIZE = 256 * 1024;
+
+    public static void main(String[] args) throws IOException {
         // Create the terrain (this will generate penguins, hazards and food)
         IcyTerrain terrain = new IcyTerrain(); // You can also test with random seed
-        // Delegate the game loop and menu logic to IcyTerrain
-        terrain.startGame();
+        // The console is written by a background thread, so a slow terminal does not hold up the game
+        OutputSink previousOutput = GameOutput.getSink();
+        try (AsyncOutputSink output = new AsyncOutputSink(System.out, OUTPUT_BUFFER_SIZE, OverflowPolicy.BLOCK)) {
+            GameOutput.setSink(output);
+            if (args.length > 0) {
+                try (GameRecorder recorder = GameRecorder.create(Path.of(args[0]))) {
+                    terrain.addListener(recorder);
+                    terrain.startGame();
+                }
+                return;
+            }
+            // Delegate the game loop and menu logic to IcyTerrain
+            terrain.startGame();
+        } finally {
+            GameOutput.setSink(previousOutput);
+        }
     }
 }
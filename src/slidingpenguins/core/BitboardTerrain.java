@@ -0,0 +1,538 @@
+package slidingpenguins.core;
+
+import java.util.List;
+
+import slidingpenguins.objects.ITerrainObject;
+import slidingpenguins.objects.ObjectKind;
+import slidingpenguins.objects.food.Food;
+import slidingpenguins.objects.food.FoodType;
+import slidingpenguins.objects.hazards.HoleInIce;
+import slidingpenguins.objects.penguins.Penguin;
+import slidingpenguins.objects.penguins.RockhopperPenguin;
+
+/**
+ * Bitboard copy of a small IcyTerrain (at most 128 cells, e.g. the standard 10x10
+ * game) for simulations that need many moves per second.
+ *
+ * Every kind of cell content is a pair of longs with one bit per row-major cell:
+ * penguins, food, light ice blocks, heavy ice blocks, sea lions, open and plugged
+ * holes, plus the union of all of them. A slide finds its next obstacle with one
+ * bit scan over a precomputed ray instead of stepping cell by cell. Next to the
+ * boards, a byte per cell tells which penguin or sliding hazard, or which food
+ * item, the cell holds.
+ *
+ * moveObject follows the slide and collision rules of IcyTerrain.moveObject
+ * exactly, including the chains of pushed penguins and sliding hazards, so the
+ * positions, penguin states and carried food stay equal to those of an IcyTerrain
+ * making the same moves (see matches). Nothing is narrated, reported to listeners
+ * or journaled, and turns, abilities and controllers are left to the caller.
+ */
+public final class BitboardTerrain {
+
+    /**
+     * Largest number of cells a bitboard holds.
+     */
+    public static final int MAX_CELLS = 128;
+
+    // Content kinds, each with a pair of longs in boards; OCCUPIED is the union of the others
+    private static final int NONE = -1;
+    private static final int PENGUIN = 0;
+    private static final int FOOD = 1;
+    private static final int LIGHT_ICE_BLOCK = 2;
+    private static final int HEAVY_ICE_BLOCK = 3;
+    private static final int SEA_LION = 4;
+    private static final int HOLE = 5;
+    private static final int PLUGGED_HOLE = 6;
+    private static final int OCCUPIED = 7;
+
+    private static final int WEIGHTS = Food.MAX_WEIGHT - Food.MIN_WEIGHT + 1;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // Geometry; rays and lengths are indexed by cell * 4 + direction ordinal
+    private final int rows;
+    private final int cols;
+    private final int[] delta;     // index change of one step, by direction
+    private final long[] rays;     // two words per ray: the cells ahead up to the edge
+    private final int[] rayLength; // number of cells ahead
+
+    // Cell content
+    private final long[] boards = new long[(OCCUPIED + 1) * 2];
+    private final byte[] ids;      // penguin index, sliding hazard number or food code of each cell
+
+    // Penguins, in the terrain's turn order
+    private final Penguin[] penguins;
+    private final boolean[] rockhopper;
+    private final int[] positions;
+    private final Direction[] directions;
+    private final boolean[] eliminated;
+    private final boolean[] stunned;
+    private final boolean[] jumpPrepared;
+    private final byte[][] foods;  // food codes in pickup order
+    private final int[] foodCounts;
+    private final int[] foodWeights;
+
+    /**
+     * Copies the current state of a terrain.
+     * @param terrain The terrain to copy
+     * @throws IllegalArgumentException if the terrain has more than MAX_CELLS cells
+     */
+    public BitboardTerrain(IcyTerrain terrain) {
+        this.rows = terrain.getRows();
+        this.cols = terrain.getCols();
+        if (rows * cols > MAX_CELLS) {
+            throw new IllegalArgumentException("A bitboard holds at most " + MAX_CELLS + " cells: " + rows + "x" + cols);
+        }
+        this.delta = new int[] { -cols, cols, -1, 1 };
+        this.rays = new long[rows * cols * DIRECTIONS.length * 2];
+        this.rayLength = new int[rows * cols * DIRECTIONS.length];
+        for (int cell = 0; cell < rows * cols; cell++) {
+            for (Direction d : DIRECTIONS) {
+                int k = cell * DIRECTIONS.length + d.ordinal();
+                for (int next = step(cell, d); next >= 0; next = step(next, d)) {
+                    rays[k * 2 + (next >>> 6)] |= 1L << next;
+                    rayLength[k]++;
+                }
+            }
+        }
+        this.ids = new byte[rows * cols];
+
+        List<Penguin> turnOrder = terrain.getPenguins();
+        int count = turnOrder.size();
+        this.penguins = turnOrder.toArray(new Penguin[0]);
+        this.rockhopper = new boolean[count];
+        this.positions = new int[count];
+        this.directions = new Direction[count];
+        this.eliminated = new boolean[count];
+        this.stunned = new boolean[count];
+        this.jumpPrepared = new boolean[count];
+        this.foods = new byte[count][];
+        this.foodCounts = new int[count];
+        this.foodWeights = new int[count];
+
+        int slidingHazards = 0;
+        for (int cell = 0; cell < rows * cols; cell++) {
+            ITerrainObject obj = terrain.getObjectAt(cell % cols, cell / cols);
+            if (obj == null) continue;
+            switch (obj.getKind()) {
+                case FOOD: {
+                    Food f = (Food) obj;
+                    set(cell, FOOD, foodCode(f));
+                    break;
+                }
+                case HEAVY_ICE_BLOCK: set(cell, HEAVY_ICE_BLOCK, 0); break;
+                case HOLE_IN_ICE:     set(cell, ((HoleInIce) obj).isPlugged() ? PLUGGED_HOLE : HOLE, 0); break;
+                case LIGHT_ICE_BLOCK: set(cell, LIGHT_ICE_BLOCK, slidingHazards++); break;
+                case SEA_LION:        set(cell, SEA_LION, slidingHazards++); break;
+                default:              set(cell, PENGUIN, indexOf(obj)); break;
+            }
+        }
+
+        Food[] carried = new Food[terrain.getConfig().getFoodCount()];
+        for (int i = 0; i < count; i++) {
+            Penguin p = penguins[i];
+            rockhopper[i] = p.getKind() == ObjectKind.ROCKHOPPER_PENGUIN;
+            positions[i] = p.getY() * cols + p.getX();
+            directions[i] = p.getDirection();
+            eliminated[i] = p.isEliminated();
+            stunned[i] = p.isStunned();
+            jumpPrepared[i] = rockhopper[i] && ((RockhopperPenguin) p).isJumpPrepared();
+            foods[i] = new byte[Math.max(rows * cols, carried.length)];
+            foodCounts[i] = p.getFoodCount();
+            p.getFoods(carried, 0);
+            for (int j = 0; j < foodCounts[i]; j++) {
+                foods[i][j] = (byte) foodCode(carried[j]);
+            }
+            foodWeights[i] = p.getTotalFoodWeight();
+        }
+    }
+
+    /**
+     * Copy constructor: an independent bitboard with the same state.
+     * @param other The bitboard to copy
+     */
+    public BitboardTerrain(BitboardTerrain other) {
+        this.rows = other.rows;
+        this.cols = other.cols;
+        this.delta = other.delta;
+        this.rays = other.rays;
+        this.rayLength = other.rayLength;
+        this.ids = new byte[other.ids.length];
+        this.penguins = other.penguins;
+        this.rockhopper = other.rockhopper;
+        int count = penguins.length;
+        this.positions = new int[count];
+        this.directions = new Direction[count];
+        this.eliminated = new boolean[count];
+        this.stunned = new boolean[count];
+        this.jumpPrepared = new boolean[count];
+        this.foods = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            foods[i] = new byte[other.foods[i].length];
+        }
+        this.foodCounts = new int[count];
+        this.foodWeights = new int[count];
+        copyFrom(other);
+    }
+
+    /**
+     * Overwrites the state of this bitboard with that of another copy of the same
+     * terrain, without allocating; e.g. to start every simulation from one position.
+     * @param other A bitboard created from the same terrain, or a copy of one
+     */
+    public void copyFrom(BitboardTerrain other) {
+        if (other.penguins != penguins) {
+            throw new IllegalArgumentException("The bitboard belongs to another terrain");
+        }
+        System.arraycopy(other.boards, 0, boards, 0, boards.length);
+        System.arraycopy(other.ids, 0, ids, 0, ids.length);
+        System.arraycopy(other.positions, 0, positions, 0, positions.length);
+        System.arraycopy(other.directions, 0, directions, 0, directions.length);
+        System.arraycopy(other.eliminated, 0, eliminated, 0, eliminated.length);
+        System.arraycopy(other.stunned, 0, stunned, 0, stunned.length);
+        System.arraycopy(other.jumpPrepared, 0, jumpPrepared, 0, jumpPrepared.length);
+        for (int i = 0; i < penguins.length; i++) {
+            System.arraycopy(other.foods[i], 0, foods[i], 0, other.foodCounts[i]);
+        }
+        System.arraycopy(other.foodCounts, 0, foodCounts, 0, foodCounts.length);
+        System.arraycopy(other.foodWeights, 0, foodWeights, 0, foodWeights.length);
+    }
+
+    // --- Moves ---
+
+    /**
+     * Slides a penguin like IcyTerrain.moveObject.
+     * @param penguin Index of the penguin in the terrain's turn order
+     * @param direction The direction of the slide
+     * @param stopLimit Maximum number of squares, or -1 for no limit
+     */
+    public void moveObject(int penguin, Direction direction, int stopLimit) {
+        slide(PENGUIN, penguin, positions[penguin], direction, stopLimit);
+    }
+
+    /**
+     * Slides a penguin or a sliding hazard from its cell until it stops, falls
+     * into the water or a hole, resolving every collision on the way.
+     * @param kind PENGUIN, LIGHT_ICE_BLOCK or SEA_LION
+     * @param id Penguin index or sliding hazard number
+     */
+    private void slide(int kind, int id, int from, Direction direction, int stopLimit) {
+        boolean penguin = kind == PENGUIN;
+        clear(from);
+        if (penguin) directions[id] = direction;
+        boolean canJump = penguin && jumpPrepared[id];
+        int d = direction.ordinal();
+        int current = from;
+        int stepsTaken = 0;
+        // Bounces off sea lions that could not move (see IcyTerrain.moveObject)
+        int blockedBounces = 0;
+        int lastBounceCell = -1;
+        int firstBounceCell = -1;
+        int firstBounceDir = -1;
+
+        sliding:
+        while (true) {
+            if (stopLimit != -1 && stepsTaken >= stopLimit) break;
+
+            // Skip the empty cells up to the next obstacle in one go, but never past the limit
+            int k = current * DIRECTIONS.length + d;
+            int obstacle = nextOccupied(k, d);
+            int run = obstacle < 0 ? rayLength[k] : (obstacle - current) / delta[d] - 1;
+            if (run > 0) {
+                if (stopLimit != -1 && run >= stopLimit - stepsTaken) {
+                    run = stopLimit - stepsTaken;
+                }
+                current += run * delta[d];
+                stepsTaken += run;
+                continue;
+            }
+
+            if (rayLength[k] == 0) {
+                // Falls into the water
+                if (penguin) eliminated[id] = true;
+                return;
+            }
+
+            int next = current + delta[d];
+            int target = kindAt(next);
+
+            // Rockhopper jump over a hazard other than a hole
+            if (canJump && (target == LIGHT_ICE_BLOCK || target == HEAVY_ICE_BLOCK || target == SEA_LION)) {
+                canJump = false;
+                if (rayLength[next * DIRECTIONS.length + d] > 0 && kindAt(next + delta[d]) == NONE) {
+                    current = next + delta[d];
+                    stepsTaken += 2;
+                    jumpPrepared[id] = false;
+                    continue;
+                }
+            }
+
+            switch (target) {
+                case FOOD:
+                    clear(next);
+                    if (!penguin) { // destroyed by a sliding hazard, which keeps going
+                        current = next;
+                        stepsTaken++;
+                        continue;
+                    }
+                    pickUpFood(id, ids[next]);
+                    current = next;
+                    break sliding;
+                case PENGUIN:
+                    if (penguin) {
+                        int pushed = ids[next];
+                        slide(PENGUIN, pushed, positions[pushed], direction, -1);
+                    }
+                    break sliding;
+                case HEAVY_ICE_BLOCK:
+                    if (penguin) dropLightestFood(id);
+                    break sliding;
+                case LIGHT_ICE_BLOCK:
+                    if (penguin) stunned[id] = true;
+                    slide(LIGHT_ICE_BLOCK, ids[next], next, direction, -1);
+                    break sliding;
+                case SEA_LION: {
+                    if (!penguin) {
+                        // Only a light ice block passes its motion on to a sea lion
+                        if (kind == LIGHT_ICE_BLOCK) slide(SEA_LION, ids[next], next, direction, -1);
+                        break sliding;
+                    }
+                    // The sea lion slides on, the penguin bounces back
+                    int seaLion = ids[next];
+                    Direction back = DIRECTIONS[d ^ 1];
+                    directions[id] = back;
+                    slide(SEA_LION, seaLion, next, direction, -1);
+                    // Bounces off sea lions that cannot move could repeat forever, as in IcyTerrain
+                    if (kindAt(next) == SEA_LION && ids[next] == seaLion) {
+                        blockedBounces = current == lastBounceCell ? blockedBounces + 1 : 1;
+                        if (blockedBounces == 2) break sliding;
+                        if (stopLimit == -1 && current == firstBounceCell && back.ordinal() == firstBounceDir) break sliding;
+                        lastBounceCell = current;
+                        if (firstBounceCell == -1) {
+                            firstBounceCell = current;
+                            firstBounceDir = back.ordinal();
+                        }
+                    } else {
+                        blockedBounces = 0;
+                        lastBounceCell = -1;
+                        firstBounceCell = -1;
+                    }
+                    direction = back;
+                    d = back.ordinal();
+                    continue;
+                }
+                case HOLE:
+                    if (penguin) {
+                        eliminated[id] = true;
+                    } else {
+                        set(next, PLUGGED_HOLE, 0);
+                    }
+                    return;
+                default: // PLUGGED_HOLE, crossed like ice
+                    current = next;
+                    stepsTaken++;
+            }
+        }
+
+        if (penguin) {
+            jumpPrepared[id] = false;
+            positions[id] = current;
+        }
+        set(current, kind, id);
+    }
+
+    /**
+     * Returns the first occupied cell on a ray, or -1 if the cells up to the edge are empty.
+     * @param k Index of the ray (cell * 4 + direction ordinal)
+     * @param d Direction ordinal
+     */
+    private int nextOccupied(int k, int d) {
+        long low = boards[OCCUPIED * 2] & rays[k * 2];
+        long high = boards[OCCUPIED * 2 + 1] & rays[k * 2 + 1];
+        if (delta[d] > 0) {
+            if (low != 0) return Long.numberOfTrailingZeros(low);
+            if (high != 0) return 64 + Long.numberOfTrailingZeros(high);
+        } else {
+            if (high != 0) return 127 - Long.numberOfLeadingZeros(high);
+            if (low != 0) return 63 - Long.numberOfLeadingZeros(low);
+        }
+        return -1;
+    }
+
+    private void pickUpFood(int penguin, int code) {
+        foods[penguin][foodCounts[penguin]++] = (byte) code;
+        foodWeights[penguin] += weightOf(code);
+    }
+
+    /**
+     * Removes the first carried item of the lowest weight, like Penguin.dropLightestFood.
+     */
+    private void dropLightestFood(int penguin) {
+        byte[] carried = foods[penguin];
+        int count = foodCounts[penguin];
+        if (count == 0) return;
+        int lightest = 0;
+        for (int i = 1; i < count; i++) {
+            if (weightOf(carried[i]) < weightOf(carried[lightest])) lightest = i;
+        }
+        foodWeights[penguin] -= weightOf(carried[lightest]);
+        System.arraycopy(carried, lightest + 1, carried, lightest, count - lightest - 1);
+        foodCounts[penguin] = count - 1;
+    }
+
+    // --- Cells ---
+
+    private int kindAt(int cell) {
+        int word = cell >>> 6;
+        long bit = 1L << cell;
+        if ((boards[OCCUPIED * 2 + word] & bit) == 0) return NONE;
+        for (int kind = 0; kind < OCCUPIED; kind++) {
+            if ((boards[kind * 2 + word] & bit) != 0) return kind;
+        }
+        return NONE;
+    }
+
+    /**
+     * Puts content on a cell, replacing what was there.
+     */
+    private void set(int cell, int kind, int id) {
+        clear(cell);
+        long bit = 1L << cell;
+        boards[kind * 2 + (cell >>> 6)] |= bit;
+        boards[OCCUPIED * 2 + (cell >>> 6)] |= bit;
+        ids[cell] = (byte) id;
+    }
+
+    private void clear(int cell) {
+        int kind = kindAt(cell);
+        if (kind == NONE) return;
+        long bit = ~(1L << cell);
+        boards[kind * 2 + (cell >>> 6)] &= bit;
+        boards[OCCUPIED * 2 + (cell >>> 6)] &= bit;
+    }
+
+    /**
+     * @return The neighbour of a cell in a direction, or -1 at the edge
+     */
+    private int step(int cell, Direction d) {
+        int x = cell % cols;
+        int y = cell / cols;
+        switch (d) {
+            case UP:    return y > 0 ? cell - cols : -1;
+            case DOWN:  return y < rows - 1 ? cell + cols : -1;
+            case LEFT:  return x > 0 ? cell - 1 : -1;
+            default:    return x < cols - 1 ? cell + 1 : -1;
+        }
+    }
+
+    private int indexOf(ITerrainObject penguin) {
+        for (int i = 0; i < penguins.length; i++) {
+            if (penguins[i] == penguin) return i;
+        }
+        throw new IllegalArgumentException("Penguin on the grid is not in the turn order: " + penguin.getSymbol());
+    }
+
+    private static int foodCode(Food f) {
+        return f.getType().ordinal() * WEIGHTS + f.getWeight() - Food.MIN_WEIGHT;
+    }
+
+    private static Food foodOf(int code) {
+        return Food.of(FoodType.values()[code / WEIGHTS], code % WEIGHTS + Food.MIN_WEIGHT);
+    }
+
+    private static int weightOf(int code) {
+        return code % WEIGHTS + Food.MIN_WEIGHT;
+    }
+
+    // --- State ---
+
+    /**
+     * @return Number of penguins
+     */
+    public int getPenguinCount() {
+        return penguins.length;
+    }
+
+    public int getX(int penguin) { return positions[penguin] % cols; }
+    public int getY(int penguin) { return positions[penguin] / cols; }
+    public Direction getDirection(int penguin) { return directions[penguin]; }
+    public boolean isEliminated(int penguin) { return eliminated[penguin]; }
+    public boolean isStunned(int penguin) { return stunned[penguin]; }
+    public void setStunned(int penguin, boolean value) { stunned[penguin] = value; }
+    public boolean isJumpPrepared(int penguin) { return jumpPrepared[penguin]; }
+
+    /**
+     * Prepares the jump of a Rockhopper Penguin for its next slide, like its special action.
+     */
+    public void prepareJump(int penguin) {
+        if (!rockhopper[penguin]) {
+            throw new IllegalArgumentException(penguins[penguin].getId() + " is not a Rockhopper Penguin");
+        }
+        jumpPrepared[penguin] = true;
+    }
+
+    public int getFoodCount(int penguin) { return foodCounts[penguin]; }
+    public int getTotalFoodWeight(int penguin) { return foodWeights[penguin]; }
+
+    /**
+     * Compares this bitboard with a terrain: the content of every cell (the same
+     * penguins; equal food items, hazards and holes) and the position, direction,
+     * status and carried food of every penguin.
+     * @param terrain The terrain this bitboard was created from, or a copy of it
+     * @return true if both hold the same state
+     */
+    public boolean matches(IcyTerrain terrain) {
+        if (terrain.getRows() != rows || terrain.getCols() != cols) return false;
+        for (int cell = 0; cell < rows * cols; cell++) {
+            ITerrainObject obj = terrain.getObjectAt(cell % cols, cell / cols);
+            int kind = kindAt(cell);
+            if (obj == null) {
+                if (kind != NONE) return false;
+                continue;
+            }
+            switch (obj.getKind()) {
+                case FOOD:            if (kind != FOOD || foodOf(ids[cell]) != obj) return false; break;
+                case HEAVY_ICE_BLOCK: if (kind != HEAVY_ICE_BLOCK) return false; break;
+                case HOLE_IN_ICE:     if (kind != (((HoleInIce) obj).isPlugged() ? PLUGGED_HOLE : HOLE)) return false; break;
+                case LIGHT_ICE_BLOCK: if (kind != LIGHT_ICE_BLOCK) return false; break;
+                case SEA_LION:        if (kind != SEA_LION) return false; break;
+                default:              if (kind != PENGUIN || penguins[ids[cell]] != obj) return false; break;
+            }
+        }
+        List<Penguin> turnOrder = terrain.getPenguins();
+        Food[] carried = new Food[terrain.getConfig().getFoodCount()];
+        for (int i = 0; i < penguins.length; i++) {
+            Penguin p = turnOrder.get(i);
+            if (p != penguins[i]
+                    || p.getX() != getX(i) || p.getY() != getY(i) || p.getDirection() != directions[i]
+                    || p.isEliminated() != eliminated[i] || p.isStunned() != stunned[i]
+                    || (rockhopper[i] && ((RockhopperPenguin) p).isJumpPrepared() != jumpPrepared[i])
+                    || p.getFoodCount() != foodCounts[i]) {
+                return false;
+            }
+            p.getFoods(carried, 0);
+            for (int j = 0; j < foodCounts[i]; j++) {
+                if (carried[j] != foodOf(foods[i][j])) return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(rows * (cols * 3 + 1));
+        for (int cell = 0; cell < rows * cols; cell++) {
+            switch (kindAt(cell)) {
+                case PENGUIN:         sb.append(penguins[ids[cell]].getSymbol()); break;
+                case FOOD:            sb.append(foodOf(ids[cell]).getSymbol()); break;
+                case LIGHT_ICE_BLOCK: sb.append("LB"); break;
+                case HEAVY_ICE_BLOCK: sb.append("HB"); break;
+                case SEA_LION:        sb.append("SL"); break;
+                case HOLE:            sb.append("HI"); break;
+                case PLUGGED_HOLE:    sb.append("PH"); break;
+                default:              sb.append(".."); break;
+            }
+            sb.append(cell % cols == cols - 1 ? '\n' : ' ');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,20 @@
+package slidingpenguins.core;
+
+import slidingpenguins.objects.ITerrainObject;
+
+/**
+ * Receives the cells that changed since the last time the changes were drained.
+ * Used by incremental renderers and by any sink that only needs the list of
+ * changed cells instead of the whole grid.
+ */
+@FunctionalInterface
+public interface CellChangeListener {
+
+    /**
+     * Called once per changed cell.
+     * @param x Column of the changed cell
+     * @param y Row of the changed cell
+     * @param current The object now on the cell, or null if the cell is empty
+     */
+    void onCellChanged(int x, int y, ITerrainObject current);
+}
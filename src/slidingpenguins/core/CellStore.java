@@ -0,0 +1,36 @@
+package slidingpenguins.core;
+
+import slidingpenguins.objects.ITerrainObject;
+
+/**
+ * Content of the cells of a TerrainGrid, by row-major index.
+ * ObjectCellStore keeps one reference per cell; PackedCellStore keeps one byte
+ * per cell and objects only for the cells holding a slidable object.
+ */
+interface CellStore {
+
+    /**
+     * @return Number of cells
+     */
+    int size();
+
+    /**
+     * @return The object at the index, or null if the cell is empty
+     */
+    ITerrainObject get(int index);
+
+    /**
+     * Stores an object at the index, or empties the cell if it is null.
+     */
+    void set(int index, ITerrainObject obj);
+
+    /**
+     * @return A new, empty store of the same kind and size, e.g. for snapshots
+     */
+    CellStore newStore();
+
+    /**
+     * Overwrites a store created by newStore with the content of this one.
+     */
+    void copyTo(CellStore dest);
+}
@@ -0,0 +1,76 @@
+package slidingpenguins.core;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+import slidingpenguins.objects.ISlidable;
+import slidingpenguins.objects.ITerrainObject;
+import slidingpenguins.objects.ObjectKind;
+
+/**
+ * Handlers of the collisions between a sliding object and the object it runs into,
+ * indexed by (slider kind, target kind), so resolving a collision is one array read
+ * and one call instead of a chain of instanceof tests.
+ *
+ * The table is filled once: every pair starts with the default handler, and each
+ * rule overrides the pairs it matches, later rules winning. A new kind of object
+ * only needs its rules, not another branch in every chain.
+ */
+final class CollisionTable {
+
+    // Outcomes of a collision for the slider
+    /** The slider stops in front of the target. */
+    static final int STOP = 0;
+    /** The slider keeps sliding, in its possibly changed direction. */
+    static final int CONTINUE = 1;
+    /** The slider moves onto the target's square and stops there. */
+    static final int ENTER = 2;
+    /** The slider moves onto the target's square and keeps sliding. */
+    static final int PASS = 3;
+    /** The slider is gone (it fell into a hole) and is not placed again. */
+    static final int SINK = 4;
+
+    /**
+     * Resolves one kind of collision on a terrain.
+     */
+    @FunctionalInterface
+    interface Handler {
+        /**
+         * @param terrain The terrain the collision happens on
+         * @param slider The sliding object
+         * @param target The object it runs into
+         * @param x Column of the target's cell
+         * @param y Row of the target's cell
+         * @param direction The direction the slider was moving in
+         * @return One of the outcomes STOP, CONTINUE, ENTER, PASS, SINK
+         */
+        int resolve(IcyTerrain terrain, ISlidable slider, ITerrainObject target, int x, int y, Direction direction);
+    }
+
+    private final Handler[] handlers = new Handler[ObjectKind.COUNT * ObjectKind.COUNT];
+
+    /**
+     * @param defaultHandler Handler of the pairs no rule matches
+     */
+    CollisionTable(Handler defaultHandler) {
+        Arrays.fill(handlers, defaultHandler);
+    }
+
+    /**
+     * Assigns a handler to every pair of kinds matched by the two conditions.
+     * @return This table, for chaining
+     */
+    CollisionTable on(Predicate<ObjectKind> slider, Predicate<ObjectKind> target, Handler handler) {
+        for (ObjectKind s : ObjectKind.values()) {
+            if (!slider.test(s)) continue;
+            for (ObjectKind t : ObjectKind.values()) {
+                if (target.test(t)) handlers[s.ordinal() * ObjectKind.COUNT + t.ordinal()] = handler;
+            }
+        }
+        return this;
+    }
+
+    Handler get(ObjectKind slider, ObjectKind target) {
+        return handlers[slider.ordinal() * ObjectKind.COUNT + target.ordinal()];
+    }
+}
@@ -0,0 +1,40 @@
+package slidingpenguins.core;
+
+import slidingpenguins.objects.penguins.Penguin;
+import slidingpenguins.util.GameOutput;
+import slidingpenguins.util.InputHelper;
+
+/**
+ * Controller for the user's penguin.
+ * Asks the user for every decision on the console through InputHelper.
+ */
+public class ConsolePlayerController implements PenguinController {
+
+    @Override
+    public Direction chooseDirection(IcyTerrain terrain, Penguin penguin) {
+        if (penguin.hasUsedAbility()) {
+            GameOutput.println(penguin.getId() + " has already used its special action.");
+        }
+        return InputHelper.getDirection(
+                "Which direction will " + penguin.getId() + " move? (U/D/L/R): "
+        );
+    }
+
+    @Override
+    public boolean chooseToUseAbility(IcyTerrain terrain, Penguin penguin, Direction chosenDir) {
+        if (penguin.hasUsedAbility()) return false;
+        return InputHelper.getYesNo(
+                "Will " + penguin.getId() + " use its special action? (Y/N): "
+        );
+    }
+
+    @Override
+    public Direction chooseRoyalStep(IcyTerrain terrain, Penguin penguin) {
+        return InputHelper.getDirection("Royal Ability: Choose direction to step 1 square (U/D/L/R): ");
+    }
+
+    @Override
+    public boolean isInteractive() {
+        return true;
+    }
+}
@@ -0,0 +1,139 @@
+package slidingpenguins.core;
+
+import java.util.Random;
+
+/**
+ * Set of free slots numbered 0..n-1 that supports picking a uniformly random
+ * free slot and removing any slot in constant time.
+ * Used during content generation, where a slot is a row-major cell index.
+ *
+ * The slots are kept in a virtual array whose first size() entries are the
+ * free ones (a lazily evaluated Fisher-Yates shuffle): removing a slot swaps
+ * it with the last free entry. Both the array and its inverse start out as the
+ * identity and only the entries that differ from it are stored, in small
+ * open-addressing maps. Memory therefore grows with the number of removals,
+ * not with the number of slots, which keeps generation linear in the entity
+ * count even on very large grids.
+ */
+class FreeSlotIndex {
+
+    private final SparseIntArray order;     // virtual array: position -> slot
+    private final SparseIntArray positions; // inverse: slot -> position
+    private int size;
+
+    /**
+     * Creates an index in which every slot of [0, slotCount) is free.
+     */
+    FreeSlotIndex(int slotCount) {
+        this.order = new SparseIntArray();
+        this.positions = new SparseIntArray();
+        this.size = slotCount;
+    }
+
+    /**
+     * @return Number of free slots
+     */
+    int size() {
+        return size;
+    }
+
+    boolean contains(int slot) {
+        int position = positions.get(slot);
+        return position < size && order.get(position) == slot;
+    }
+
+    /**
+     * Removes and returns a uniformly chosen free slot.
+     * @throws IllegalStateException if no slot is free
+     */
+    int removeRandom(Random random) {
+        if (size == 0) {
+            throw new IllegalStateException("No free slot left");
+        }
+        int position = random.nextInt(size);
+        int slot = order.get(position);
+        removeAt(position);
+        return slot;
+    }
+
+    /**
+     * Removes a slot if it is still free.
+     */
+    void remove(int slot) {
+        if (contains(slot)) {
+            removeAt(positions.get(slot));
+        }
+    }
+
+    /**
+     * Moves the last free entry into the given position and shrinks the free range.
+     */
+    private void removeAt(int position) {
+        int last = size - 1;
+        if (position != last) {
+            int lastSlot = order.get(last);
+            order.put(position, lastSlot);
+            positions.put(lastSlot, position);
+        }
+        size = last;
+    }
+
+    /**
+     * Int-to-int map that returns the key itself for keys that were never stored,
+     * so an empty map stands for the identity array.
+     * Keys are stored off by one, which lets 0 mark an empty bucket in a freshly
+     * allocated array. Entries are only ever added or overwritten.
+     */
+    private static final class SparseIntArray {
+
+        private int[] keys = new int[16];
+        private int[] values = new int[16];
+        private int count;
+
+        int get(int key) {
+            int mask = keys.length - 1;
+            for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+                int stored = keys[i];
+                if (stored == 0) return key;
+                if (stored == key + 1) return values[i];
+            }
+        }
+
+        void put(int key, int value) {
+            int mask = keys.length - 1;
+            for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+                int stored = keys[i];
+                if (stored == key + 1) {
+                    values[i] = value;
+                    return;
+                }
+                if (stored == 0) {
+                    keys[i] = key + 1;
+                    values[i] = value;
+                    if (++count * 2 > keys.length) grow();
+                    return;
+                }
+            }
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new int[oldValues.length * 2];
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] == 0) continue;
+                int i = mix(oldKeys[j] - 1) & mask;
+                while (keys[i] != 0) i = (i + 1) & mask;
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
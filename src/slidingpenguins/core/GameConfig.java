@@ -0,0 +1,147 @@
+package slidingpenguins.core;
+
+/**
+ * Immutable configuration of a single game.
+ * Holds the values that used to be read directly from GameConstants, so that
+ * one JVM can run many games of different sizes at the same time.
+ * DEFAULT matches the assignment's rules; the "with" methods return modified copies.
+ */
+public final class GameConfig {
+
+    /**
+     * The standard game: 10x10 grid, 3 penguins, 15 hazards, 20 food items, 4 turns.
+     */
+    public static final GameConfig DEFAULT = new GameConfig(
+            GameConstants.GRID_ROWS, GameConstants.GRID_COLS,
+            GameConstants.PENGUIN_COUNT, GameConstants.HAZARD_COUNT, GameConstants.FOOD_COUNT,
+            GameConstants.MAX_TURNS, GameConstants.AI_ABILITY_USE_CHANCE);
+
+    private final int rows;
+    private final int cols;
+    private final int penguinCount;
+    private final int hazardCount;
+    private final int foodCount;
+    private final int maxTurns;
+    private final int aiAbilityUseChance;
+    private final boolean packedCells;
+    private final boolean penguinStore;
+
+    /**
+     * @param rows Number of rows of the grid
+     * @param cols Number of columns of the grid
+     * @param penguinCount Number of penguins (at least 1)
+     * @param hazardCount Number of hazards
+     * @param foodCount Number of food items
+     * @param maxTurns Number of turns in a game
+     * @param aiAbilityUseChance Chance (0-100) that an AI penguin uses its special action
+     * @throws IllegalArgumentException if a value is out of range
+     */
+    public GameConfig(int rows, int cols, int penguinCount, int hazardCount, int foodCount,
+                      int maxTurns, int aiAbilityUseChance) {
+        this(rows, cols, penguinCount, hazardCount, foodCount, maxTurns, aiAbilityUseChance, false, false);
+    }
+
+    private GameConfig(int rows, int cols, int penguinCount, int hazardCount, int foodCount,
+                       int maxTurns, int aiAbilityUseChance, boolean packedCells, boolean penguinStore) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Grid dimensions must be positive: " + rows + "x" + cols);
+        }
+        if (penguinCount < 1) {
+            throw new IllegalArgumentException("At least one penguin is required: " + penguinCount);
+        }
+        if (hazardCount < 0 || foodCount < 0) {
+            throw new IllegalArgumentException("Entity counts cannot be negative: hazards="
+                    + hazardCount + ", food=" + foodCount);
+        }
+        if (maxTurns < 0) {
+            throw new IllegalArgumentException("Turn limit cannot be negative: " + maxTurns);
+        }
+        if (aiAbilityUseChance < 0 || aiAbilityUseChance > 100) {
+            throw new IllegalArgumentException("AI ability chance must be within 0-100: " + aiAbilityUseChance);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.penguinCount = penguinCount;
+        this.hazardCount = hazardCount;
+        this.foodCount = foodCount;
+        this.maxTurns = maxTurns;
+        this.aiAbilityUseChance = aiAbilityUseChance;
+        this.packedCells = packedCells;
+        this.penguinStore = penguinStore;
+    }
+
+    public int getRows() { return rows; }
+    public int getCols() { return cols; }
+    public int getPenguinCount() { return penguinCount; }
+    public int getHazardCount() { return hazardCount; }
+    public int getFoodCount() { return foodCount; }
+    public int getMaxTurns() { return maxTurns; }
+    public int getAiAbilityUseChance() { return aiAbilityUseChance; }
+
+    /**
+     * @return true if the grid keeps a byte per cell instead of a reference (see withPackedCells)
+     */
+    public boolean isPackedCells() { return packedCells; }
+
+    /**
+     * @return true if the terrain keeps the penguins' state in a shared store (see withPenguinStore)
+     */
+    public boolean isPenguinStore() { return penguinStore; }
+
+    /**
+     * @return A copy of this configuration with a different grid size
+     */
+    public GameConfig withGridSize(int rows, int cols) {
+        return new GameConfig(rows, cols, penguinCount, hazardCount, foodCount, maxTurns, aiAbilityUseChance, packedCells, penguinStore);
+    }
+
+    /**
+     * @return A copy of this configuration with different entity counts
+     */
+    public GameConfig withEntityCounts(int penguinCount, int hazardCount, int foodCount) {
+        return new GameConfig(rows, cols, penguinCount, hazardCount, foodCount, maxTurns, aiAbilityUseChance, packedCells, penguinStore);
+    }
+
+    /**
+     * @return A copy of this configuration with a different turn limit
+     */
+    public GameConfig withMaxTurns(int maxTurns) {
+        return new GameConfig(rows, cols, penguinCount, hazardCount, foodCount, maxTurns, aiAbilityUseChance, packedCells, penguinStore);
+    }
+
+    /**
+     * @return A copy of this configuration with a different AI ability chance
+     */
+    public GameConfig withAiAbilityUseChance(int aiAbilityUseChance) {
+        return new GameConfig(rows, cols, penguinCount, hazardCount, foodCount, maxTurns, aiAbilityUseChance, packedCells, penguinStore);
+    }
+
+    /**
+     * Chooses how the grid stores its cells. Packed cells take a byte per cell, since
+     * food items and fixed hazards are stored as codes; only the penguins and the sliding
+     * hazards stay objects. Meant for very large grids; the game plays the same either way.
+     * @return A copy of this configuration with packed or plain cells
+     */
+    public GameConfig withPackedCells(boolean packedCells) {
+        return new GameConfig(rows, cols, penguinCount, hazardCount, foodCount, maxTurns, aiAbilityUseChance, packedCells, penguinStore);
+    }
+
+    /**
+     * Chooses whether the terrain keeps the coordinates, flags and food totals of all its
+     * penguins in one struct-of-arrays PenguinStore. Loops over the whole population then
+     * walk primitive arrays instead of visiting every penguin. Meant for games with very
+     * many penguins; the game plays the same either way.
+     * @return A copy of this configuration with or without a shared penguin store
+     */
+    public GameConfig withPenguinStore(boolean penguinStore) {
+        return new GameConfig(rows, cols, penguinCount, hazardCount, foodCount, maxTurns, aiAbilityUseChance, packedCells, penguinStore);
+    }
+
+    @Override
+    public String toString() {
+        return rows + "x" + cols + " grid, " + penguinCount + " penguins, " + hazardCount + " hazards, "
+                + foodCount + " food, " + maxTurns + " turns, AI ability chance " + aiAbilityUseChance + "%"
+                + (packedCells ? ", packed cells" : "")
+                + (penguinStore ? ", penguin store" : "");
+    }
+}
@@ -3,6 +3,8 @@ package slidingpenguins.core;
 /**
  * Contains constant values used throughout the Sliding Penguins Puzzle Game.
  * This ensures easier maintenance and avoidance of "magic numbers".
+ * The grid, entity, rule and AI values are the defaults of GameConfig.DEFAULT;
+ * a running game reads them from its own GameConfig.
  */
 public class GameConstants {
     
@@ -0,0 +1,143 @@
+package slidingpenguins.core;
+
+import slidingpenguins.objects.ISlidable;
+import slidingpenguins.objects.ITerrainObject;
+import slidingpenguins.objects.food.Food;
+import slidingpenguins.objects.penguins.Penguin;
+import slidingpenguins.objects.penguins.RockhopperPenguin;
+
+/**
+ * Receives the events of a game as the engine plays it.
+ * Decisions are reported as soon as a controller returns them, whether the
+ * penguin is driven by the console or by an AI; outcomes are reported at the
+ * moment the engine applies them, in the order they happen.
+ *
+ * Every method does nothing by default, so a listener only implements the events
+ * it needs. The console narration of an interactive game is one listener
+ * (ConsoleNarrator), recording is another (GameRecorder). Events carry the
+ * objects involved rather than text: a terrain without listeners formats and
+ * prints nothing while it plays. Listeners are attached with IcyTerrain.addListener.
+ */
+public interface GameListener {
+
+    /**
+     * Called once before the first turn, after the turn order has been fixed.
+     * @param terrain The terrain of the game
+     */
+    default void gameStarted(IcyTerrain terrain) {
+    }
+
+    default void turnStarted(int turn) {
+    }
+
+    /**
+     * Called when a penguin that can act starts its turn, before its controller is asked.
+     */
+    default void penguinTurnStarted(Penguin penguin) {
+    }
+
+    /**
+     * Called when a penguin skips its turn because it is eliminated or stunned.
+     * A stunned penguin is still stunned when this is called and recovers right after.
+     */
+    default void turnSkipped(Penguin penguin) {
+    }
+
+    default void directionChosen(Penguin penguin, Direction direction) {
+    }
+
+    default void abilityChosen(Penguin penguin, boolean used) {
+    }
+
+    /**
+     * Called when a penguin activates its special ability.
+     */
+    default void abilityActivated(Penguin penguin) {
+    }
+
+    /**
+     * Called when a penguin tries to activate a special ability it has already used.
+     */
+    default void abilityAlreadyUsed(Penguin penguin) {
+    }
+
+    default void royalStepChosen(Penguin penguin, Direction direction) {
+    }
+
+    /**
+     * Called right before the penguin whose turn it is slides in the chosen direction.
+     */
+    default void moveStarted(Penguin penguin, Direction direction) {
+    }
+
+    /**
+     * Called when a hazard is set in motion by a collision (a LightIceBlock or a SeaLion).
+     * @param hazard The hazard
+     * @param direction The direction it slides in
+     */
+    default void slideStarted(ISlidable hazard, Direction direction) {
+    }
+
+    /**
+     * Called when a slide ends because the squares allowed by a special ability were used up.
+     */
+    default void abilityLimitReached(ISlidable slider) {
+    }
+
+    default void jumped(RockhopperPenguin penguin, ITerrainObject hazard) {
+    }
+
+    default void jumpFailed(RockhopperPenguin penguin, ITerrainObject hazard) {
+    }
+
+    /**
+     * Called when a sliding object runs into an object on the grid, before the collision is resolved.
+     * @param slider The sliding object
+     * @param target The object it ran into
+     * @param x Column of the target's cell
+     * @param y Row of the target's cell
+     */
+    default void collided(ITerrainObject slider, ITerrainObject target, int x, int y) {
+    }
+
+    default void foodPickedUp(Penguin penguin, Food food) {
+    }
+
+    /**
+     * Called when a penguin loses a food item by running into a HeavyIceBlock.
+     */
+    default void foodDropped(Penguin penguin, Food food) {
+    }
+
+    /**
+     * Called when a sliding hazard runs over a food item, which is removed from the game.
+     */
+    default void foodDestroyed(ISlidable hazard, Food food) {
+    }
+
+    /**
+     * Called every time a penguin is stunned, even if it already was.
+     */
+    default void penguinStunned(Penguin penguin) {
+    }
+
+    /**
+     * Called when a penguin falls into the water, off the edge or into a hole.
+     */
+    default void penguinEliminated(Penguin penguin) {
+    }
+
+    /**
+     * Called when a sliding object leaves the grid over its edge and is removed from the game.
+     * For a penguin this follows penguinEliminated.
+     */
+    default void slidOffTerrain(ISlidable slider) {
+    }
+
+    /**
+     * Called once after the last turn.
+     * @param turnsPlayed Number of turns completed
+     */
+    default void gameEnded(int turnsPlayed) {
+    }
+}
@@ -0,0 +1,131 @@
+package slidingpenguins.core;
+
+import slidingpenguins.objects.ISlidable;
+import slidingpenguins.objects.ITerrainObject;
+import slidingpenguins.objects.food.Food;
+import slidingpenguins.objects.penguins.Penguin;
+import slidingpenguins.objects.penguins.RockhopperPenguin;
+
+/**
+ * Forwards every event to several listeners, in the order they were attached.
+ * IcyTerrain only uses it when more than one listener is attached, so a single
+ * listener is called directly.
+ */
+final class GameListenerList implements GameListener {
+
+    private final GameListener[] listeners;
+
+    GameListenerList(GameListener[] listeners) {
+        this.listeners = listeners;
+    }
+
+    @Override
+    public void gameStarted(IcyTerrain terrain) {
+        for (GameListener l : listeners) l.gameStarted(terrain);
+    }
+
+    @Override
+    public void turnStarted(int turn) {
+        for (GameListener l : listeners) l.turnStarted(turn);
+    }
+
+    @Override
+    public void penguinTurnStarted(Penguin penguin) {
+        for (GameListener l : listeners) l.penguinTurnStarted(penguin);
+    }
+
+    @Override
+    public void turnSkipped(Penguin penguin) {
+        for (GameListener l : listeners) l.turnSkipped(penguin);
+    }
+
+    @Override
+    public void directionChosen(Penguin penguin, Direction direction) {
+        for (GameListener l : listeners) l.directionChosen(penguin, direction);
+    }
+
+    @Override
+    public void abilityChosen(Penguin penguin, boolean used) {
+        for (GameListener l : listeners) l.abilityChosen(penguin, used);
+    }
+
+    @Override
+    public void abilityActivated(Penguin penguin) {
+        for (GameListener l : listeners) l.abilityActivated(penguin);
+    }
+
+    @Override
+    public void abilityAlreadyUsed(Penguin penguin) {
+        for (GameListener l : listeners) l.abilityAlreadyUsed(penguin);
+    }
+
+    @Override
+    public void royalStepChosen(Penguin penguin, Direction direction) {
+        for (GameListener l : listeners) l.royalStepChosen(penguin, direction);
+    }
+
+    @Override
+    public void moveStarted(Penguin penguin, Direction direction) {
+        for (GameListener l : listeners) l.moveStarted(penguin, direction);
+    }
+
+    @Override
+    public void slideStarted(ISlidable hazard, Direction direction) {
+        for (GameListener l : listeners) l.slideStarted(hazard, direction);
+    }
+
+    @Override
+    public void abilityLimitReached(ISlidable slider) {
+        for (GameListener l : listeners) l.abilityLimitReached(slider);
+    }
+
+    @Override
+    public void jumped(RockhopperPenguin penguin, ITerrainObject hazard) {
+        for (GameListener l : listeners) l.jumped(penguin, hazard);
+    }
+
+    @Override
+    public void jumpFailed(RockhopperPenguin penguin, ITerrainObject hazard) {
+        for (GameListener l : listeners) l.jumpFailed(penguin, hazard);
+    }
+
+    @Override
+    public void collided(ITerrainObject slider, ITerrainObject target, int x, int y) {
+        for (GameListener l : listeners) l.collided(slider, target, x, y);
+    }
+
+    @Override
+    public void foodPickedUp(Penguin penguin, Food food) {
+        for (GameListener l : listeners) l.foodPickedUp(penguin, food);
+    }
+
+    @Override
+    public void foodDropped(Penguin penguin, Food food) {
+        for (GameListener l : listeners) l.foodDropped(penguin, food);
+    }
+
+    @Override
+    public void foodDestroyed(ISlidable hazard, Food food) {
+        for (GameListener l : listeners) l.foodDestroyed(hazard, food);
+    }
+
+    @Override
+    public void penguinStunned(Penguin penguin) {
+        for (GameListener l : listeners) l.penguinStunned(penguin);
+    }
+
+    @Override
+    public void penguinEliminated(Penguin penguin) {
+        for (GameListener l : listeners) l.penguinEliminated(penguin);
+    }
+
+    @Override
+    public void slidOffTerrain(ISlidable slider) {
+        for (GameListener l : listeners) l.slidOffTerrain(slider);
+    }
+
+    @Override
+    public void gameEnded(int turnsPlayed) {
+        for (GameListener l : listeners) l.gameEnded(turnsPlayed);
+    }
+}
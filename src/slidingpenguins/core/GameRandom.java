@@ -0,0 +1,53 @@
+package slidingpenguins.core;
+
+import java.util.Random;
+
+/**
+ * Random generator of a game.
+ * Uses exactly the linear congruential generator of java.util.Random, so a seed
+ * produces the same numbers as before, but keeps the 48-bit state in a plain
+ * field that can be read and restored. Terrain snapshots rely on this to rewind
+ * the generator together with the board.
+ * Like the terrain it belongs to, an instance is not thread-safe.
+ */
+class GameRandom extends Random {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    // No initializer: the superclass constructor already stores the seed through setSeed
+    private long state;
+
+    GameRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        this.state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    /**
+     * @return The current 48-bit generator state
+     */
+    long getState() {
+        return state;
+    }
+
+    /**
+     * Restores a state returned by getState.
+     */
+    void setState(long state) {
+        this.state = state & MASK;
+    }
+}
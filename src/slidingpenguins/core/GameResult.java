@@ -0,0 +1,78 @@
+package slidingpenguins.core;
+
+import java.util.Arrays;
+
+/**
+ * Immutable summary of a finished game.
+ * Penguin data is stored by turn order (P1, P2, ...).
+ */
+public final class GameResult {
+
+    private final int turnsPlayed;
+    private final int[] scores;
+    private final boolean[] eliminated;
+    private final int myPenguinIndex;
+
+    /**
+     * @param turnsPlayed Number of completed turns
+     * @param scores Total food weight of each penguin, by turn order
+     * @param eliminated Elimination flag of each penguin, by turn order
+     * @param myPenguinIndex Turn-order index of the user's penguin
+     */
+    public GameResult(int turnsPlayed, int[] scores, boolean[] eliminated, int myPenguinIndex) {
+        this.turnsPlayed = turnsPlayed;
+        this.scores = Arrays.copyOf(scores, scores.length);
+        this.eliminated = Arrays.copyOf(eliminated, eliminated.length);
+        this.myPenguinIndex = myPenguinIndex;
+    }
+
+    public int getTurnsPlayed() {
+        return turnsPlayed;
+    }
+
+    public int getPenguinCount() {
+        return scores.length;
+    }
+
+    /**
+     * @param index Turn-order index of the penguin
+     * @return The penguin's final total food weight
+     */
+    public int getScore(int index) {
+        return scores[index];
+    }
+
+    /**
+     * @param index Turn-order index of the penguin
+     * @return true if the penguin was eliminated during the game
+     */
+    public boolean isEliminated(int index) {
+        return eliminated[index];
+    }
+
+    public int getMyPenguinIndex() {
+        return myPenguinIndex;
+    }
+
+    /**
+     * @return Number of penguins eliminated during the game
+     */
+    public int getEliminationCount() {
+        int count = 0;
+        for (boolean e : eliminated) {
+            if (e) count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return The highest final score of the game
+     */
+    public int getBestScore() {
+        int best = 0;
+        for (int score : scores) {
+            best = Math.max(best, score);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,84 @@
+package slidingpenguins.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import slidingpenguins.objects.ITerrainObject;
+import slidingpenguins.objects.ObjectKind;
+import slidingpenguins.objects.penguins.Penguin;
+import slidingpenguins.objects.penguins.RockhopperPenguin;
+
+/**
+ * The default AI controller.
+ * Looks one square ahead and prioritizes: food > safe moves > hazards > random.
+ * Random decisions are drawn from the terrain's own random generator, so seeded
+ * games stay deterministic. The controller holds no state and can be shared.
+ */
+public class GreedyAIController implements PenguinController {
+
+    /**
+     * AI decision logic for choosing a movement direction.
+     * Prioritizes: food > safe moves > hazards > random
+     * @param terrain The terrain the penguin is on
+     * @param p The AI-controlled penguin
+     * @return The chosen direction
+     */
+    @Override
+    public Direction chooseDirection(IcyTerrain terrain, Penguin p) {
+        Direction[] dirs = Direction.values();
+        for (Direction d : dirs) {
+            ITerrainObject obj = terrain.peekObject(p.getX(), p.getY(), d);
+            if (obj != null && obj.getKind() == ObjectKind.FOOD) return d;
+        }
+        for (Direction d : dirs) {
+            if (terrain.isSafeMove(p.getX(), p.getY(), d)) return d;
+        }
+        for (Direction d : dirs) {
+            if (isSolidHazard(terrain.peekObject(p.getX(), p.getY(), d))) return d;
+        }
+        return Direction.values()[terrain.random().nextInt(dirs.length)];
+    }
+
+    /**
+     * Rockhopper Penguins use their action automatically when heading towards a hazard;
+     * other penguins follow the configured AI ability chance.
+     */
+    @Override
+    public boolean chooseToUseAbility(IcyTerrain terrain, Penguin p, Direction chosenDir) {
+        if (p.hasUsedAbility()) return false;
+
+        if (p.getKind() == ObjectKind.ROCKHOPPER_PENGUIN) {
+            return ((RockhopperPenguin) p).canAutoUseForHazard()
+                    && isSolidHazard(terrain.peekObject(p.getX(), p.getY(), chosenDir));
+        }
+        // Other AI penguins: configured chance rule (30% by default)
+        return terrain.random().nextInt(100) < terrain.getConfig().getAiAbilityUseChance();
+    }
+
+    /**
+     * @return true for a hazard other than a hole in the ice (which a Rockhopper cannot jump over)
+     */
+    private static boolean isSolidHazard(ITerrainObject obj) {
+        return obj != null && obj.getKind().isHazard() && obj.getKind() != ObjectKind.HOLE_IN_ICE;
+    }
+
+    /**
+     * AI decision logic for Royal Penguin's one-step ability.
+     * Chooses a safe adjacent square if possible.
+     * @param terrain The terrain the penguin is on
+     * @param p The Royal Penguin
+     * @return A safe direction or random if no safe options
+     */
+    @Override
+    public Direction chooseRoyalStep(IcyTerrain terrain, Penguin p) {
+        Random random = terrain.random();
+        Direction[] dirs = Direction.values();
+        List<Direction> safeDirs = new ArrayList<>();
+        for (Direction d : dirs) {
+            if (terrain.isSafeMove(p.getX(), p.getY(), d)) safeDirs.add(d);
+        }
+        if (!safeDirs.isEmpty()) return safeDirs.get(random.nextInt(safeDirs.size()));
+        return dirs[random.nextInt(dirs.length)];
+    }
+}
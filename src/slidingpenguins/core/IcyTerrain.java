@@ -1,7 +1,10 @@
 package slidingpenguins.core;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Random;
 import java.util.Comparator;
 
@@ -9,8 +12,11 @@ import slidingpenguins.objects.*;
 import slidingpenguins.objects.food.*;
 import slidingpenguins.objects.hazards.*;
 import slidingpenguins.objects.penguins.*;
+import slidingpenguins.util.ConsoleNarrator;
+import slidingpenguins.util.GameOutput;
 import slidingpenguins.util.GridRenderer;
-import slidingpenguins.util.InputHelper;
+import slidingpenguins.util.OutputSink;
+import slidingpenguins.util.TerrainRenderer;
 import slidingpenguins.data.ScoreBoard;
 
 /**
@@ -20,17 +26,49 @@ import slidingpenguins.data.ScoreBoard;
  */
 public class IcyTerrain {
 
-    private List<List<ITerrainObject>> grid;
+    private int seed;
+    private GameConfig config;
+    private TerrainGrid grid;
     private List<Penguin> penguins;
+    // Coordinates and state of the penguins if the config asks for a shared store,
+    // otherwise null; slot i always belongs to penguins.get(i)
+    private PenguinStore penguinStore;
     private Penguin myPenguin;
-    private Random random;
+    private GameRandom random;
+    // Every penguin and sliding hazard in generation order; objects are never replaced during play.
+    // Food items and fixed hazards are shared instances, known only by the cells holding them.
+    private ISlidable[] objects;
+    private TerrainRenderer renderer = new GridRenderer();
+
+    // Controllers driving the penguins (see getController for the defaults)
+    private final Map<Penguin, PenguinController> controllers = new IdentityHashMap<>();
+    private final PenguinController consoleController = new ConsolePlayerController();
+    private final PenguinController defaultAIController = new GreedyAIController();
+    private boolean headless;
+    private int turnsPlayed;
+    // Attached listeners; listener is null, the only one of them, or a GameListenerList over all of them
+    private final List<GameListener> listeners = new ArrayList<>();
+    private GameListener listener;
+    private final GameListener narrator = new ConsoleNarrator();
+    private UndoJournal journal; // created by the first makeMove
+    private long stateHash;      // see StateHash; kept up to date by every change of the state
+
+    // Collision handlers by (slider kind, target kind); later rules override earlier ones
+    private static final CollisionTable COLLISIONS = new CollisionTable(IcyTerrain::stopAt)
+            .on(ObjectKind::isPenguin, kind -> kind == ObjectKind.FOOD, IcyTerrain::pickUpFood)
+            .on(kind -> !kind.isPenguin(), kind -> kind == ObjectKind.FOOD, IcyTerrain::destroyFood)
+            .on(ObjectKind::isPenguin, ObjectKind::isPenguin, IcyTerrain::pushPenguin)
+            .on(kind -> true, kind -> kind == ObjectKind.HEAVY_ICE_BLOCK, IcyTerrain::hitHazard)
+            .on(kind -> true, kind -> kind == ObjectKind.LIGHT_ICE_BLOCK, IcyTerrain::hitLightIceBlock)
+            .on(kind -> true, kind -> kind == ObjectKind.SEA_LION, IcyTerrain::hitSeaLion)
+            .on(kind -> true, kind -> kind == ObjectKind.HOLE_IN_ICE, IcyTerrain::enterHole);
 
     /**
-     * Default Constructor: Creates a random game (No seed).
+     * Default Constructor: Creates a random game.
+     * The seed is picked at random and kept, so the game can still be recorded and replayed.
      */
     public IcyTerrain() {
-        this.random = new Random();
-        initialize();
+        this(new Random().nextInt());
     }
 
     /**
@@ -39,169 +77,405 @@ public class IcyTerrain {
      * @param seed Random seed (e.g., 42)
      */
     public IcyTerrain(int seed) {
+        this(seed, GameConfig.DEFAULT);
+    }
+
+    /**
+     * Seeded Constructor with custom dimensions.
+     * Used for simulations on terrains larger than the default 10x10 grid.
+     * @param seed Random seed (e.g., 42)
+     * @param rows Number of rows of the grid
+     * @param cols Number of columns of the grid
+     */
+    public IcyTerrain(int seed, int rows, int cols) {
+        this(seed, GameConfig.DEFAULT.withGridSize(rows, cols));
+    }
+
+    /**
+     * Seeded Constructor with a custom game configuration.
+     * The configuration decides the grid size, entity counts, turn limit and
+     * AI behavior of this game only.
+     * @param seed Random seed (e.g., 42)
+     * @param config Configuration of the game
+     */
+    public IcyTerrain(int seed, GameConfig config) {
         // Implicit casting from int to long handles the seed correctly.
-        this.random = new Random(seed);
-        initialize();
+        this.seed = seed;
+        this.random = new GameRandom(seed);
+        initialize(config);
+    }
+
+    /**
+     * Copy Constructor: Creates an independent deep copy of another terrain.
+     * Every penguin and sliding hazard is copied together with its state, food
+     * items and fixed hazards are immutable and shared by both terrains, and the
+     * random generator continues from the same state. Controllers, the renderer and the listeners are not
+     * copied. Used to give each search thread a terrain of its own.
+     * @param other The terrain to copy
+     */
+    public IcyTerrain(IcyTerrain other) {
+        this.seed = other.seed;
+        this.config = other.config;
+        this.turnsPlayed = other.turnsPlayed;
+        this.random = new GameRandom(other.seed);
+        this.random.setState(other.random.getState());
+        this.grid = new TerrainGrid(other.grid.getRows(), other.grid.getCols(), other.config.isPackedCells());
+
+        Map<ITerrainObject, ITerrainObject> copies = new IdentityHashMap<>();
+        this.objects = new ISlidable[other.objects.length];
+        for (int i = 0; i < objects.length; i++) {
+            ISlidable original = other.objects[i];
+            ISlidable copy = copyObject(original);
+            objects[i] = copy;
+            copies.put(original, copy);
+            // Objects that left the grid keep stale coordinates, so check the cell holds this object
+            if (other.grid.get(original.getX(), original.getY()) == original) {
+                grid.set(copy.getX(), copy.getY(), copy);
+            }
+        }
+        // Food items and fixed hazards are immutable, so both terrains share them
+        for (int i = 0; i < grid.size(); i++) {
+            ITerrainObject obj = other.grid.get(i);
+            if (obj != null && !obj.getKind().isSlidable()) {
+                grid.set(i % grid.getCols(), i / grid.getCols(), obj);
+            }
+        }
+
+        this.penguins = new ArrayList<>(other.penguins.size());
+        this.penguinStore = other.penguinStore == null ? null : new PenguinStore(other.penguins.size());
+        Food[] carried = new Food[other.config.getFoodCount()];
+        for (Penguin original : other.penguins) {
+            Penguin copy = (Penguin) copies.get(original);
+            int count = original.getFoodCount();
+            original.getFoods(carried, 0);
+            copy.setFoods(carried, 0, count);
+            penguins.add(copy);
+            if (penguinStore != null) penguinStore.add(copy);
+        }
+        this.myPenguin = (Penguin) copies.get(other.myPenguin);
+        this.stateHash = computeStateHash();
+    }
+
+    /**
+     * Creates a new object of the same kind with the same coordinates and state.
+     */
+    private static ISlidable copyObject(ISlidable obj) {
+        ISlidable copy;
+        switch (obj.getKind()) {
+            case KING_PENGUIN:       copy = new KingPenguin(((Penguin) obj).getId()); break;
+            case EMPEROR_PENGUIN:    copy = new EmperorPenguin(((Penguin) obj).getId()); break;
+            case ROYAL_PENGUIN:      copy = new RoyalPenguin(((Penguin) obj).getId()); break;
+            case ROCKHOPPER_PENGUIN: copy = new RockhopperPenguin(((Penguin) obj).getId()); break;
+            case LIGHT_ICE_BLOCK:    copy = new LightIceBlock(); break;
+            case SEA_LION:           copy = new SeaLion(); break;
+            default: throw new IllegalArgumentException("Cannot copy terrain object: " + obj);
+        }
+        copy.setX(obj.getX());
+        copy.setY(obj.getY());
+        copy.setStateBits(obj.getStateBits());
+        return copy;
     }
 
     /**
      * Common initialization method to prevent code duplication in constructors.
      */
-    private void initialize() {
+    private void initialize(GameConfig config) {
+        this.config = config;
         this.penguins = new ArrayList<>();
-        initializeGrid();
+        this.penguinStore = config.isPenguinStore() ? new PenguinStore(config.getPenguinCount()) : null;
+        this.grid = new TerrainGrid(config.getRows(), config.getCols(), config.isPackedCells());
         generateContent();
     }
 
     /**
      * Starts the game loop and handles turns, inputs and rendering.
+     * The user's penguin is driven from the console unless another
+     * controller was assigned to it with setController.
      */
     public void startGame() {
+        this.headless = false;
+
         // Initial Game Setup and Info
         initializeGame();
-    
-        for (int turn = 1; turn <= GameConstants.MAX_TURNS; turn++) {
-            System.out.println("\n*** Turn " + turn + " ***");
-            
-            // --- Turn Execution ---
-            for (Penguin p : penguins) {
-                handlePenguinTurn(p);
+        addListener(narrator);
+        try {
+            if (listener != null) listener.gameStarted(this);
+
+            for (int turn = 1; turn <= config.getMaxTurns(); turn++) {
+                if (listener != null) listener.turnStarted(turn);
+
+                // --- Turn Execution ---
+                for (Penguin p : penguins) {
+                    handlePenguinTurn(p);
+                }
+                turnsPlayed = turn;
+
+                // Check for win/loss conditions if necessary (not shown in original, but good practice)
+                // if (checkGameOver()) break;
             }
-    
-            // Check for win/loss conditions if necessary (not shown in original, but good practice)
-            // if (checkGameOver()) break;
+
+            // Game End
+            if (listener != null) listener.gameEnded(turnsPlayed);
+        } finally {
+            removeListener(narrator);
         }
-    
-        // Game End
         endGame();
     }
+
+    /**
+     * Plays a complete game without any console interaction.
+     * Nothing is read from stdin and nothing is printed or rendered (only the attached
+     * listeners hear about the game): every penguin,
+     * including the user's penguin, is driven by its controller (the greedy AI
+     * unless another one was assigned with setController). The game ends after
+     * the configured number of turns, or earlier once every penguin is eliminated.
+     * Seeded terrains play identically on every run, which makes this suitable
+     * for unattended simulations.
+     * @return The final scores, eliminations and number of turns played
+     */
+    public GameResult playHeadless() {
+        return playHeadless(config.getMaxTurns());
+    }
+
+    /**
+     * Plays a game headlessly like playHeadless(), but stops after at most the given
+     * number of turns. Used to replay a recorded game up to a chosen turn.
+     * @param turnLimit Maximum number of turns to play (capped by the configured turn limit)
+     * @return The scores, eliminations and number of turns played so far
+     */
+    public GameResult playHeadless(int turnLimit) {
+        this.headless = true;
+        int lastTurn = Math.min(turnLimit, config.getMaxTurns());
+        OutputSink previousOutput = GameOutput.getSink();
+        GameOutput.setSink(null);
+        try {
+            penguins.sort(Comparator.comparing(Penguin::getId));
+            arrangePenguinStore();
+            if (listener != null) listener.gameStarted(this);
+            for (int turn = 1; turn <= lastTurn; turn++) {
+                if (listener != null) listener.turnStarted(turn);
+                for (int i = 0; i < penguins.size(); i++) {
+                    // Only listeners hear about the turn of an eliminated penguin; skip it without visiting it
+                    if (listener == null && penguinStore != null && penguinStore.isEliminated(i)) continue;
+                    handlePenguinTurn(penguins.get(i));
+                }
+                turnsPlayed = turn;
+                if (allPenguinsEliminated()) break;
+            }
+            if (listener != null) listener.gameEnded(turnsPlayed);
+        } finally {
+            GameOutput.setSink(previousOutput);
+        }
+        return getResult();
+    }
+
+    /**
+     * Summarizes the current state of the game: scores and eliminations by turn order
+     * and the number of turns played so far.
+     */
+    public GameResult getResult() {
+        int count = penguins.size();
+        int[] scores = new int[count];
+        boolean[] eliminated = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            if (penguinStore != null) {
+                scores[i] = penguinStore.getTotalFoodWeight(i);
+                eliminated[i] = penguinStore.isEliminated(i);
+            } else {
+                Penguin p = penguins.get(i);
+                scores[i] = p.getTotalFoodWeight();
+                eliminated[i] = p.isEliminated();
+            }
+        }
+        return new GameResult(turnsPlayed, scores, eliminated, penguins.indexOf(myPenguin));
+    }
+
+    /**
+     * Assigns the controller that decides the moves of a penguin.
+     * @param p A penguin of this terrain
+     * @param controller The controller, or null to restore the default one
+     */
+    public void setController(Penguin p, PenguinController controller) {
+        if (controller == null) {
+            controllers.remove(p);
+        } else {
+            controllers.put(p, controller);
+        }
+    }
+
+    /**
+     * Attaches a listener that receives the events of the game, e.g. a GameRecorder.
+     * Must be called before the game starts. Listeners are called in the order they
+     * were attached; an interactive game (startGame) adds a ConsoleNarrator after them.
+     * @param l The listener
+     */
+    public void addListener(GameListener l) {
+        listeners.add(Objects.requireNonNull(l));
+        updateListener();
+    }
+
+    /**
+     * Detaches a listener attached with addListener. Does nothing if it is not attached.
+     */
+    public void removeListener(GameListener l) {
+        if (listeners.remove(l)) updateListener();
+    }
+
+    private void updateListener() {
+        switch (listeners.size()) {
+            case 0:  listener = null; break;
+            case 1:  listener = listeners.get(0); break;
+            default: listener = new GameListenerList(listeners.toArray(new GameListener[0]));
+        }
+    }
+
+    /**
+     * Returns the seed this terrain was generated from.
+     * Together with the configuration it reproduces the initial state of the game.
+     */
+    public int getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return Number of turns completed by the last game played on this terrain
+     */
+    public int getTurnsPlayed() {
+        return turnsPlayed;
+    }
     
     // ==========================================================
     // Helper Methods (The extracted logic)
     // ==========================================================
     
     private void initializeGame() {
-        System.out.println("Welcome to Sliding Penguins Puzzle Game App.");
-        System.out.println("An " + GameConstants.GRID_ROWS + "x" + GameConstants.GRID_COLS
+        GameOutput.println("Welcome to Sliding Penguins Puzzle Game App.");
+        GameOutput.println("An " + grid.getRows() + "x" + grid.getCols()
                 + " icy terrain grid is being generated.");
-        System.out.println("Penguins, Hazards, and Food items are also being generated.");
+        GameOutput.println("Penguins, Hazards, and Food items are also being generated.");
     
         // Ensure strictly P1, P2, P3 turn order
         penguins.sort(Comparator.comparing(Penguin::getId));
+        arrangePenguinStore();
     
-        printLegend();
-        System.out.println("\nThe initial icy terrain grid:");
-        GridRenderer.render(this);
+        printLegend(penguins);
+        GameOutput.println("\nThe initial icy terrain grid:");
+        renderer.render(this);
         printPenguinInfo(penguins, myPenguin);
     }
     
     private void handlePenguinTurn(Penguin p) {
         // 1. Check for Skip Conditions
         if (p.isEliminated()) {
-            System.out.println(p.getId() + " is eliminated and skips turn.");
+            if (listener != null) listener.turnSkipped(p);
             return;
         }
         if (p.isStunned()) {
-            System.out.println(p.getId() + " is stunned and skips this turn!");
+            if (listener != null) listener.turnSkipped(p);
+            long keyBefore = StateHash.penguinKey(p);
             p.setStunned(false);
+            stateHash ^= keyBefore ^ StateHash.penguinKey(p);
             return;
         }
     
-        System.out.print("\n--- " + p.getId() + "'s Turn ---");
+        if (listener != null) listener.penguinTurnStarted(p);
         
         // 2. Decision Phase (Ability & Direction)
-        Direction chosenDir;
-        boolean useAbility;
-    
-        if (p == myPenguin) {
-            System.out.println(" (Your Penguin)\n");
-            chosenDir = handlePlayerDecision(p);
-            useAbility = p.hasUsedAbility() ? false : InputHelper.getYesNo(
-                    "Will " + p.getId() + " use its special action? (Y/N): "
-            );
-            if (useAbility) handleSpecialActionPreparation(p, true);
-        } else {
-            chosenDir = decideAIDirection(p);
-            useAbility = handleAIDecision(p, chosenDir);
-        }
+        PenguinController controller = getController(p);
+        Direction chosenDir = controller.chooseDirection(this, p);
+        if (listener != null) listener.directionChosen(p, chosenDir);
+        boolean useAbility = controller.chooseToUseAbility(this, p, chosenDir);
+        if (listener != null) listener.abilityChosen(p, useAbility);
+        if (useAbility) handleSpecialActionPreparation(p, controller);
     
-        System.out.println(p.getId() + " chooses to move " + chosenDir);
+        if (listener != null) listener.moveStarted(p, chosenDir);
     
         // 3. Execution Phase
         int limit = calculateMoveLimit(p, useAbility);
         moveObject(p, chosenDir, limit);
         
-        System.out.println("New state of the grid:");
-        GridRenderer.render(this);
-    }
-    
-    private Direction handlePlayerDecision(Penguin p) {
-        if (p.hasUsedAbility()) {
-            System.out.println(p.getId() + " has already used its special action.");
+        if (!headless) {
+            GameOutput.println("New state of the grid:");
+            renderer.render(this);
         }
-        return InputHelper.getDirection(
-                "Which direction will " + p.getId() + " move? (U/D/L/R): "
-        );
     }
-    
-    private boolean handleAIDecision(Penguin p, Direction chosenDir) {
-        if (p.hasUsedAbility()) {
-            System.out.println("\n" + p.getId() + " has already used its special action (AI).");
-            return false;
-        }
-    
-        boolean useAbility = false;
-    
-        if (p instanceof RockhopperPenguin rh) {
-            ITerrainObject target = peekObject(p.getX(), p.getY(), chosenDir);
-            if (target instanceof Hazard && !(target instanceof HoleInIce) && rh.canAutoUseForHazard()) {
-                useAbility = true;
-                System.out.println("\n" + p.getId()
-                        + " (AI) sees a hazard and automatically uses its special action!");
-            }
-        } else {
-            // Other AI penguins: 30% chance rule
-            useAbility = random.nextInt(100) < GameConstants.AI_ABILITY_USE_CHANCE;
-        }
-    
-        if (useAbility) {
-            System.out.println("\n" + p.getId() + " chooses to USE its special action.");
-            handleSpecialActionPreparation(p, false);
-        } else {
-            System.out.println("\n" + p.getId() + " does NOT use its special action.");
+
+    /**
+     * Returns the controller of a penguin: the assigned one if any, otherwise the
+     * console for the user's penguin in an interactive game and the greedy AI for everyone else.
+     */
+    private PenguinController getController(Penguin p) {
+        PenguinController controller = controllers.get(p);
+        if (controller != null) return controller;
+        if (p == myPenguin && !headless) return consoleController;
+        return defaultAIController;
+    }
+
+    private boolean allPenguinsEliminated() {
+        if (penguinStore != null) return !penguinStore.hasActivePenguins();
+        for (Penguin p : penguins) {
+            if (!p.isEliminated()) return false;
         }
-        return useAbility;
+        return true;
+    }
+
+    /**
+     * Keeps slot i of the shared penguin store, if any, on penguins.get(i)
+     * after the turn order has changed.
+     */
+    private void arrangePenguinStore() {
+        if (penguinStore != null) penguinStore.arrange(penguins);
     }
     
     private int calculateMoveLimit(Penguin p, boolean useAbility) {
         if (!useAbility) return -1;
         
-        if (p instanceof KingPenguin) return 5;
-        if (p instanceof EmperorPenguin) return 3;
-        
-        return -1; // Default or no special limit
+        switch (p.getKind()) {
+            case KING_PENGUIN:    return 5;
+            case EMPEROR_PENGUIN: return 3;
+            default:              return -1; // Default or no special limit
+        }
     }
     
     private void endGame() {
-        System.out.println("\nGAME OVER");
+        GameOutput.println("\nGAME OVER");
         printScoreboard(penguins, myPenguin);
     }
 
-    private void initializeGrid() {
-        grid = new ArrayList<>();
-        for (int i = 0; i < GameConstants.GRID_ROWS; i++) {
-            List<ITerrainObject> row = new ArrayList<>();
-            for (int j = 0; j < GameConstants.GRID_COLS; j++) {
-                row.add(null);
-            }
-            grid.add(row);
+    private void generateContent() {
+        List<ISlidable> generated = new ArrayList<>();
+        generatePenguins();
+        generated.addAll(penguins);
+
+        // Every cell not taken by a penguin is free for hazards and food
+        FreeSlotIndex freeCells = new FreeSlotIndex(grid.size());
+        for (Penguin p : penguins) {
+            freeCells.remove(grid.indexOf(p.getX(), p.getY()));
+        }
+        generateHazards(freeCells, generated);
+        generateFoods(freeCells);
+        this.objects = generated.toArray(new ISlidable[0]);
+        // The cells were hashed while placing the objects
+        for (Penguin p : penguins) {
+            stateHash ^= StateHash.penguinKey(p);
         }
     }
 
-    private void generateContent() {
-        generatePenguins();
-        generateHazards();
-        generateFoods();
+    /**
+     * Computes the state hash from scratch; normally it is maintained incrementally.
+     */
+    private long computeStateHash() {
+        long hash = 0;
+        for (int i = 0; i < grid.size(); i++) {
+            ITerrainObject obj = grid.get(i);
+            if (obj != null) {
+                hash ^= StateHash.cellKey(i, obj);
+            }
+        }
+        for (Penguin p : penguins) {
+            hash ^= StateHash.penguinKey(p);
+        }
+        return hash;
     }
 
     /**
@@ -209,11 +483,14 @@ public class IcyTerrain {
      * One penguin is randomly assigned to the player.
      */
     private void generatePenguins() {
-        for (int i = 1; i <= GameConstants.PENGUIN_COUNT; i++) {
+        FreeSlotIndex freeEdges = new FreeSlotIndex(countEdgeCells());
+        for (int i = 1; i <= config.getPenguinCount(); i++) {
             String pId = "P" + i;
             Penguin p = createRandomPenguin(pId);
-            placeOnRandomEdge(p);
+            // Join the store, if any, before placing, so the penguin needs no private one
             penguins.add(p);
+            if (penguinStore != null) penguinStore.add(p);
+            placeOnRandomEdge(p, freeEdges);
         }
         this.myPenguin = penguins.get(random.nextInt(penguins.size()));
     }
@@ -235,92 +512,113 @@ public class IcyTerrain {
 
     /**
      * Generates all hazards and places them on empty grid squares.
+     * @param freeCells Index of the empty cells
+     * @param generated Receives the new hazards
      */
-    private void generateHazards() {
-        for (int i = 0; i < GameConstants.HAZARD_COUNT; i++) {
+    private void generateHazards(FreeSlotIndex freeCells, List<ISlidable> generated) {
+        for (int i = 0; i < config.getHazardCount(); i++) {
             Hazard h = createRandomHazard();
-            placeOnRandomEmptySquare(h);
+            placeOnRandomEmptySquare(h, freeCells);
+            // Fixed hazards are shared; only the cell knows where this one lies
+            if (h.getKind().isSlidable()) generated.add((ISlidable) h);
         }
     }
 
     /**
      * Creates a random hazard of one of the four types.
-     * @return A new Hazard instance
+     * @return A new sliding hazard, or the shared instance of a fixed one
      */
     private Hazard createRandomHazard() {
         int type = random.nextInt(4);
         switch (type) {
             case 0: return new LightIceBlock();
-            case 1: return new HeavyIceBlock();
+            case 1: return HeavyIceBlock.instance();
             case 2: return new SeaLion();
-            default: return new HoleInIce();
+            default: return HoleInIce.open();
         }
     }
 
     /**
      * Generates all food items with random types and weights.
+     * The items are shared flyweights, so only the cells holding them are recorded.
+     * @param freeCells Index of the empty cells
      */
-    private void generateFoods() {
-        for (int i = 0; i < GameConstants.FOOD_COUNT; i++) {
+    private void generateFoods(FreeSlotIndex freeCells) {
+        for (int i = 0; i < config.getFoodCount(); i++) {
             FoodType[] types = FoodType.values();
             FoodType type = types[random.nextInt(types.length)];
             int weight = random.nextInt(5) + 1;
-            Food f = new Food(type, weight);
-            placeOnRandomEmptySquare(f);
-        }
-    }
-
-    private void placeOnRandomEdge(ITerrainObject obj) {
-        int x, y;
-        do {
-            int edge = random.nextInt(4);
-            if (edge == 0) { // top
-                x = random.nextInt(GameConstants.GRID_COLS);
-                y = 0;
-            } else if (edge == 1) { // bottom
-                x = random.nextInt(GameConstants.GRID_COLS);
-                y = GameConstants.GRID_ROWS - 1;
-            } else if (edge == 2) { // left
-                x = 0;
-                y = random.nextInt(GameConstants.GRID_ROWS);
-            } else { // right
-                x = GameConstants.GRID_COLS - 1;
-                y = random.nextInt(GameConstants.GRID_ROWS);
-            }
-        } while (getObjectAt(x, y) != null);
-        placeObjectOnGrid(obj, x, y);
+            placeOnRandomEmptySquare(Food.of(type, weight), freeCells);
+        }
     }
 
-    private void placeOnRandomEmptySquare(ITerrainObject obj) {
-        int x, y;
-
-        while (true) {
-            x = random.nextInt(GameConstants.GRID_COLS);
-            y = random.nextInt(GameConstants.GRID_ROWS);
-
-            ITerrainObject existing = getObjectAt(x, y);
-
-            // 1) Hazards → can only spawn on a completely empty cell.
-            //    They should never overlap with penguins or food.
-            if (obj instanceof Hazard) {
-                if (existing == null) break;
-            }
+    /**
+     * Places an object on a uniformly chosen empty cell of the grid's perimeter.
+     * Penguins are spawned first, so only the edge index has to know which
+     * perimeter cells are taken; each pick takes constant time.
+     * @param obj The object to place
+     * @param freeEdges Index of the free perimeter cells (see edgeSlotToCell); the chosen one is removed
+     * @throws IllegalStateException if every perimeter cell is taken
+     */
+    private void placeOnRandomEdge(ITerrainObject obj, FreeSlotIndex freeEdges) {
+        if (freeEdges.size() == 0) {
+            throw new IllegalStateException("The edges of the " + grid.getRows() + "x" + grid.getCols()
+                    + " grid are full: no edge cell left for " + obj.getSymbol());
+        }
+        int index = edgeSlotToCell(freeEdges.removeRandom(random));
+        placeObjectOnGrid(obj, index % grid.getCols(), index / grid.getCols());
+    }
 
-            // 2) Food → must also spawn on empty cells only.
-            //    Initial food should NOT appear on the same square as penguins.
-            //    Food being on the same cell with a penguin only happens during movement
-            //    and is consumed instantly through collision logic — not during generation.
-            else if (obj instanceof Food) {
-                if (existing == null) break;
-            }
+    /**
+     * @return Number of distinct cells on the perimeter of the grid
+     */
+    private int countEdgeCells() {
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        if (rows == 1) return cols;
+        int sideCells = (rows - 2) * (cols == 1 ? 1 : 2);
+        return 2 * cols + sideCells;
+    }
 
-            // 3) Penguins & other objects → must also only be placed on empty cells.
-            else {
-                if (existing == null) break;
-            }
+    /**
+     * Maps an edge slot to its row-major cell index. Slots are numbered along the
+     * top row, then the bottom row, then the left and right columns without corners.
+     */
+    private int edgeSlotToCell(int slot) {
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        if (slot < cols) { // top
+            return grid.indexOf(slot, 0);
+        }
+        slot -= cols;
+        if (slot < cols) { // bottom
+            return grid.indexOf(slot, rows - 1);
         }
+        slot -= cols;
+        int sideLength = rows - 2;
+        if (slot < sideLength) { // left
+            return grid.indexOf(0, slot + 1);
+        }
+        return grid.indexOf(cols - 1, slot - sideLength + 1); // right
+    }
 
-        placeObjectOnGrid(obj, x, y);
+    /**
+     * Places an object on a uniformly chosen empty cell.
+     * Hazards, food and any other object only ever spawn on completely empty cells:
+     * food shares a cell with a penguin only during movement, where it is consumed
+     * instantly through collision logic, never during generation.
+     * Drawing from the free-cell index takes constant time at any fill ratio.
+     * @param obj The object to place
+     * @param freeCells Index of the empty cells; the chosen cell is removed from it
+     * @throws IllegalStateException if the grid has no empty cell left
+     */
+    private void placeOnRandomEmptySquare(ITerrainObject obj, FreeSlotIndex freeCells) {
+        if (freeCells.size() == 0) {
+            throw new IllegalStateException("The " + grid.getRows() + "x" + grid.getCols()
+                    + " grid is full: no empty cell left for " + obj.getSymbol());
+        }
+        int index = freeCells.removeRandom(random);
+        placeObjectOnGrid(obj, index % grid.getCols(), index / grid.getCols());
     }
 
     // --- Helper Logic ---
@@ -350,39 +648,59 @@ public class IcyTerrain {
         if (isOutOfBounds(nextX, nextY)) return false;
 
         ITerrainObject obj = getObjectAt(nextX, nextY);
-        if (obj instanceof HoleInIce) {
-            if (((HoleInIce) obj).isPlugged()) return true;
-        }
-        if (obj instanceof Hazard) return false;
-
-        return true;
+        if (obj == null) return true;
+        if (obj.getKind() == ObjectKind.HOLE_IN_ICE) return ((HoleInIce) obj).isPlugged();
+        return !obj.getKind().isHazard();
     }
 
     // --- Movement & Collision ---
 
     public void moveObject(ISlidable slidable, Direction direction, int stopLimit) {
         if (slidable == null || direction == null) return;
+        if (isJournaling()) journal.recordState(slidable);
         removeObjectFromGrid(slidable);
 
         int currentX = slidable.getX();
         int currentY = slidable.getY();
         int stepsTaken = 0;
+        // Bounces off sea lions that could not move (see the CONTINUE case)
+        int blockedBounces = 0;
+        int lastBounceCell = -1;
+        int firstBounceCell = -1;
+        Direction firstBounceDir = null;
         boolean keepsSliding = true;
 
         slidable.setDirection(direction);
         slidable.setMoving(true);
 
         boolean canJump = false;
-        if (slidable instanceof RockhopperPenguin) {
+        if (slidable.getKind() == ObjectKind.ROCKHOPPER_PENGUIN) {
             canJump = ((RockhopperPenguin) slidable).isJumpPrepared();
         }
 
+        sliding:
         while (keepsSliding) {
             if (stopLimit != -1 && stepsTaken >= stopLimit) {
-                System.out.println(slidable.getSymbol() + " stopped due to ability limit.");
+                if (listener != null) listener.abilityLimitReached(slidable);
                 break;
             }
 
+            // Skip the empty cells ahead in one go, but never past the ability limit
+            int run = grid.freeRun(currentX, currentY, direction);
+            if (run > 0) {
+                if (stopLimit != -1 && run >= stopLimit - stepsTaken) {
+                    run = stopLimit - stepsTaken;
+                }
+                switch (direction) {
+                    case UP:    currentY -= run; break;
+                    case DOWN:  currentY += run; break;
+                    case LEFT:  currentX -= run; break;
+                    case RIGHT: currentX += run; break;
+                }
+                stepsTaken += run;
+                continue;
+            }
+
             int nextX = currentX;
             int nextY = currentY;
             switch (direction) {
@@ -406,11 +724,12 @@ public class IcyTerrain {
                 stepsTaken++;
             } else {
                 // Rockhopper jump
-                if (canJump && target instanceof Hazard && !(target instanceof HoleInIce)) {
+                ObjectKind targetKind = target.getKind();
+                if (canJump && targetKind.isHazard() && targetKind != ObjectKind.HOLE_IN_ICE) {
                     int jumpX = nextX + (nextX - currentX);
                     int jumpY = nextY + (nextY - currentY);
                     if (!isOutOfBounds(jumpX, jumpY) && getObjectAt(jumpX, jumpY) == null) {
-                        System.out.println("Rockhopper jumped over " + target.getSymbol());
+                        if (listener != null) listener.jumped((RockhopperPenguin) slidable, target);
                         currentX = jumpX;
                         currentY = jumpY;
                         stepsTaken += 2;
@@ -418,146 +737,247 @@ public class IcyTerrain {
                         ((RockhopperPenguin) slidable).consumeJump();
                         continue;
                     } else {
-                        System.out.println("Rockhopper failed to jump!");
+                        if (listener != null) listener.jumpFailed((RockhopperPenguin) slidable, target);
                         canJump = false;
                     }
                 }
 
-                if (target instanceof HoleInIce) {
-                    HoleInIce hole = (HoleInIce) target;
-                    if (!hole.isPlugged()) {
-                        hole.onCollision((ITerrainObject) slidable);
-                        if (slidable instanceof Penguin) {
-                            slidable.setMoving(false);
-                            return;
-                        }
-                        if (slidable instanceof LightIceBlock || slidable instanceof SeaLion) {
-                            slidable.setMoving(false);
-                            return;
-                        }
-                    } else {
+                // Running into a hole is only a collision if the hole is open (see enterHole)
+                if (listener != null && targetKind != ObjectKind.HOLE_IN_ICE) listener.collided(slidable, target, nextX, nextY);
+                switch (COLLISIONS.get(slidable.getKind(), targetKind).resolve(this, slidable, target, nextX, nextY, direction)) {
+                    case CollisionTable.SINK:
+                        slidable.setMoving(false);
+                        return;
+                    case CollisionTable.STOP:
+                        break sliding;
+                    case CollisionTable.ENTER:
+                        currentX = nextX;
+                        currentY = nextY;
+                        break sliding;
+                    case CollisionTable.PASS:
                         currentX = nextX;
                         currentY = nextY;
                         stepsTaken++;
-                    }
-                } else {
-                    boolean stopMovement = handleCollision(slidable, target, direction);
+                        continue;
+                    default: // CONTINUE
+                        Direction newDir = slidable.getDirection();
+                        if (newDir != null && newDir != direction) {
+                            // Bouncing off a sea lion that could not move leaves the terrain unchanged
+                            // and takes no step, so such bounces could repeat forever. The slide ends at
+                            // the second one without moving in between; without a limit it also ends
+                            // when it comes back to the first one since the terrain last changed.
+                            if (getObjectAt(nextX, nextY) == target) {
+                                int cell = grid.indexOf(currentX, currentY);
+                                blockedBounces = cell == lastBounceCell ? blockedBounces + 1 : 1;
+                                if (blockedBounces == 2) break sliding;
+                                if (stopLimit == -1 && cell == firstBounceCell && newDir == firstBounceDir) break sliding;
+                                lastBounceCell = cell;
+                                if (firstBounceCell == -1) {
+                                    firstBounceCell = cell;
+                                    firstBounceDir = newDir;
+                                }
+                            } else {
+                                blockedBounces = 0;
+                                lastBounceCell = -1;
+                                firstBounceCell = -1;
+                            }
+                            direction = newDir;
+                            continue;
+                        }
 
-                    if (target instanceof Food && slidable instanceof Penguin) {
                         currentX = nextX;
                         currentY = nextY;
-                        break;
-                    }
-
-                    if (stopMovement) {
-                        break;
-                    }
-
-                    Direction newDir = slidable.getDirection();
-                    if (newDir != null && newDir != direction) {
-                        direction = newDir;
-                        continue;
-                    }
-                    
-                    currentX = nextX;
-                    currentY = nextY;
-                    stepsTaken++;
+                        stepsTaken++;
                 }
             }
         }
 
         slidable.setMoving(false);
-        if (slidable instanceof RockhopperPenguin) {
+        if (slidable.getKind() == ObjectKind.ROCKHOPPER_PENGUIN) {
             ((RockhopperPenguin) slidable).consumeJump();
         }
 
-        if (slidable instanceof Penguin && ((Penguin) slidable).isEliminated()) {
+        if (slidable.getKind().isPenguin() && ((Penguin) slidable).isEliminated()) {
             return;
         }
 
         placeObjectOnGrid(slidable, currentX, currentY);
     }
 
-    private boolean handleCollision(ISlidable slider, ITerrainObject target, Direction dir) {
-        System.out.println(slider.getSymbol() + " collided with " + target.getSymbol());
+    // --- Collision handlers (see COLLISIONS) ---
 
-        if (slider instanceof Penguin && target instanceof Food) {
-            ((Penguin) slider).addFood((Food) target);
-            System.out.println(slider.getSymbol() + " takes the " + ((Food)target).getType()
-                    + " on the ground. (Weight=" + ((Food)target).getWeight() + " units)");
-            removeObjectFromGrid(target);
-            return true;
-        }
+    private int stopAt(ISlidable slider, ITerrainObject target, int x, int y, Direction dir) {
+        return CollisionTable.STOP;
+    }
 
-        if (!(slider instanceof Penguin) && target instanceof Food) {
-            removeObjectFromGrid(target);
-            System.out.println("Food " + target.getSymbol() + " was removed by a sliding hazard.");
-            return false;
-        }
+    private int pickUpFood(ISlidable slider, ITerrainObject target, int x, int y, Direction dir) {
+        Penguin p = (Penguin) slider;
+        Food food = (Food) target;
+        if (isJournaling()) journal.recordFoods(p);
+        long keyBefore = StateHash.penguinKey(p);
+        p.addFood(food);
+        stateHash ^= keyBefore ^ StateHash.penguinKey(p);
+        if (listener != null) listener.foodPickedUp(p, food);
+        clearCell(x, y);
+        return CollisionTable.ENTER;
+    }
 
-        if (slider instanceof Penguin && target instanceof Penguin) {
-            moveObject((Penguin) target, dir, -1);
-            return true;
-        }
+    private int destroyFood(ISlidable slider, ITerrainObject target, int x, int y, Direction dir) {
+        clearCell(x, y);
+        if (listener != null) listener.foodDestroyed(slider, (Food) target);
+        return CollisionTable.CONTINUE;
+    }
 
-        if (target instanceof Hazard) {
-            Hazard h = (Hazard) target;
-            if (h instanceof HoleInIce) return true;
+    private int pushPenguin(ISlidable slider, ITerrainObject target, int x, int y, Direction dir) {
+        moveObject((Penguin) target, dir, -1);
+        return CollisionTable.STOP;
+    }
 
-            h.onCollision((ITerrainObject) slider);
+    /**
+     * Lets a hazard act on the slider (see IHazard.onCollision); the slider stops.
+     * Also the first step of the hazards that are set in motion.
+     */
+    private int hitHazard(ISlidable slider, ITerrainObject target, int x, int y, Direction dir) {
+        Hazard h = (Hazard) target;
+        boolean penguin = slider.getKind().isPenguin();
+        // A HeavyIceBlock takes the lightest food away; find out which one while it is still carried
+        Food dropped = listener != null && penguin && h.getKind() == ObjectKind.HEAVY_ICE_BLOCK
+                ? ((Penguin) slider).getLightestFood() : null;
+        if (isJournaling()) {
+            if (h.getKind().isSlidable()) journal.recordState(h);
+            if (penguin) journal.recordFoods((Penguin) slider);
+        }
+        long keyBefore = penguinKeyOf(slider);
+        h.onCollision(slider);
+        stateHash ^= keyBefore ^ penguinKeyOf(slider);
+        if (dropped != null) listener.foodDropped((Penguin) slider, dropped);
+        return CollisionTable.STOP;
+    }
 
-            if (h instanceof SeaLion) {
-                SeaLion seaLion = (SeaLion) h;
-                if (seaLion.isMoving() && seaLion.getDirection() != null) {
-                    moveObject(seaLion, seaLion.getDirection(), -1);
-                }
-                if (slider instanceof Penguin) return false;
-                else if (slider instanceof LightIceBlock) return true;
-            }
+    private int hitLightIceBlock(ISlidable slider, ITerrainObject target, int x, int y, Direction dir) {
+        hitHazard(slider, target, x, y, dir);
+        LightIceBlock block = (LightIceBlock) target;
+        if (listener != null) {
+            if (slider.getKind().isPenguin()) listener.penguinStunned((Penguin) slider);
+            if (block.isMoving()) listener.slideStarted(block, block.getDirection());
+        }
+        Direction blockDir = block.getDirection();
+        if (blockDir == null) blockDir = dir;
+        moveObject(block, blockDir, -1);
+        return CollisionTable.STOP;
+    }
 
-            if (h instanceof LightIceBlock) {
-                LightIceBlock block = (LightIceBlock) h;
-                Direction blockDir = block.getDirection();
-                if (blockDir == null) blockDir = dir;
-                moveObject(block, blockDir, -1);
-                return true;
-            }
-            return true;
+    private int hitSeaLion(ISlidable slider, ITerrainObject target, int x, int y, Direction dir) {
+        hitHazard(slider, target, x, y, dir);
+        SeaLion seaLion = (SeaLion) target;
+        if (seaLion.isMoving() && seaLion.getDirection() != null) {
+            if (listener != null) listener.slideStarted(seaLion, seaLion.getDirection());
+            moveObject(seaLion, seaLion.getDirection(), -1);
         }
-        return true;
+        // A penguin bounces off in the direction the sea lion gave it; anything else stops
+        return slider.getKind().isPenguin() ? CollisionTable.CONTINUE : CollisionTable.STOP;
+    }
+
+    /**
+     * A plugged hole is crossed like ice. An open one swallows the slider: a penguin
+     * is eliminated, a sliding hazard plugs the hole (its cell gets the plugged hole).
+     */
+    private int enterHole(ISlidable slider, ITerrainObject target, int x, int y, Direction dir) {
+        HoleInIce hole = (HoleInIce) target;
+        if (hole.isPlugged()) return CollisionTable.PASS;
+        if (listener != null) listener.collided(slider, hole, x, y);
+        if (slider.getKind().isPenguin()) {
+            Penguin p = (Penguin) slider;
+            long keyBefore = StateHash.penguinKey(p);
+            hole.onCollision(p);
+            stateHash ^= keyBefore ^ StateHash.penguinKey(p);
+            if (listener != null) listener.penguinEliminated(p);
+        } else {
+            placeObjectOnGrid(HoleInIce.plugged(), x, y);
+        }
+        return CollisionTable.SINK;
     }
 
     private void handleFallingIntoWater(ISlidable obj) {
-        if (obj instanceof Penguin) {
+        if (obj.getKind().isPenguin()) {
+            long keyBefore = StateHash.penguinKey((Penguin) obj);
             ((Penguin) obj).fallIntoWater();
-            System.out.println("\n*** " + obj.getSymbol() + " IS REMOVED FROM THE GAME!");
-        } else if (obj instanceof LightIceBlock || obj instanceof SeaLion) {
-            System.out.println(obj.getSymbol() + " fell into water and is gone.");
+            stateHash ^= keyBefore ^ StateHash.penguinKey((Penguin) obj);
+            if (listener != null) {
+                listener.penguinEliminated((Penguin) obj);
+                listener.slidOffTerrain(obj);
+            }
+        } else {
+            if (listener != null) listener.slidOffTerrain(obj);
         }
     }
 
-    public void removeObjectFromGrid(ITerrainObject obj) {
+    /**
+     * Clears the cell at the object's coordinates. Only sliding objects have
+     * coordinates; the collisions that remove a food item clear its cell directly.
+     */
+    public void removeObjectFromGrid(ISlidable obj) {
         if (obj == null) return;
-        int x = obj.getX();
-        int y = obj.getY();
-        if (y >= 0 && y < GameConstants.GRID_ROWS && x >= 0 && x < GameConstants.GRID_COLS) {
-            grid.get(y).set(x, null);
-        }
+        clearCell(obj.getX(), obj.getY());
     }
 
+    private void clearCell(int x, int y) {
+        if (grid.isOutOfBounds(x, y)) return;
+        ITerrainObject previous = grid.get(x, y);
+        if (previous == null) return;
+        if (isJournaling()) journal.recordCell(x, y, previous);
+        stateHash ^= StateHash.cellKey(grid.indexOf(x, y), previous);
+        grid.clear(x, y);
+    }
+
+    /**
+     * Puts an object on a cell and updates its coordinates, except for a food item
+     * or fixed hazard, whose position is only the cell holding it.
+     */
     public void placeObjectOnGrid(ITerrainObject obj, int x, int y) {
-        obj.setX(x);
-        obj.setY(y);
-        grid.get(y).set(x, obj);
+        ISlidable positioned = obj.getKind().isSlidable() ? (ISlidable) obj : null;
+        ITerrainObject previous = grid.get(x, y);
+        if (isJournaling()) {
+            if (positioned != null) journal.recordCoordinates(positioned);
+            journal.recordCell(x, y, previous);
+        }
+        long index = grid.indexOf(x, y);
+        if (previous != null) stateHash ^= StateHash.cellKey(index, previous);
+        stateHash ^= StateHash.cellKey(index, obj);
+        if (positioned != null) {
+            positioned.setX(x);
+            positioned.setY(y);
+        }
+        grid.set(x, y, obj);
     }
 
     public boolean isOutOfBounds(int x, int y) {
-        return x < 0 || x >= GameConstants.GRID_COLS || y < 0 || y >= GameConstants.GRID_ROWS;
+        return grid.isOutOfBounds(x, y);
     }
 
     public ITerrainObject getObjectAt(int x, int y) {
-        if (isOutOfBounds(x, y)) return null;
-        return grid.get(y).get(x);
+        return grid.get(x, y);
+    }
+
+    /**
+     * Returns the configuration this game was created with.
+     */
+    public GameConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Returns the number of rows (Y axis) of this terrain.
+     */
+    public int getRows() {
+        return grid.getRows();
+    }
+
+    /**
+     * Returns the number of columns (X axis) of this terrain.
+     */
+    public int getCols() {
+        return grid.getCols();
     }
 
     /**
@@ -567,6 +987,15 @@ public class IcyTerrain {
         return List.copyOf(this.penguins);
     }
 
+    /**
+     * Tells whether a penguin is currently driven by the user at the console (see
+     * PenguinController.isInteractive), so listeners only announce the AI decisions.
+     * @param p A penguin of this terrain
+     */
+    public boolean isInteractive(Penguin p) {
+        return getController(p).isInteractive();
+    }
+
     /**
      * Returns the user's penguin for read-only purposes.
      */
@@ -575,17 +1004,215 @@ public class IcyTerrain {
     }
 
     /**
-     * Returns a shallow copy of the grid.
-     * The outer list and row lists are copied to avoid structural modification,
-     * but ITerrainObject references are shared for performance reasons.
-     * This method is intended for read-only visualization (GridRenderer).
+     * Replaces the renderer used to draw the grid during the game.
+     * @param renderer e.g. a GridRenderer (full frames) or a DiffGridRenderer (changed cells only)
+     */
+    public void setRenderer(TerrainRenderer renderer) {
+        this.renderer = renderer;
+    }
+
+    // --- Change Tracking ---
+
+    /**
+     * Enables or disables tracking of the cells written by placeObjectOnGrid and
+     * removeObjectFromGrid. Pending changes are discarded either way.
+     */
+    public void setChangeTracking(boolean enabled) {
+        grid.setTracking(enabled);
+    }
+
+    public boolean isChangeTracking() {
+        return grid.isTracking();
+    }
+
+    /**
+     * @return Number of distinct cells changed since the changes were last drained
+     */
+    public int getChangedCellCount() {
+        return grid.changedCount();
+    }
+
+    /**
+     * Reports each cell changed since the last drain, with its current content,
+     * and then clears the list of changes.
+     * @param listener Receives the changed cells
      */
-    public List<List<ITerrainObject>> getGrid() {
-        List<List<ITerrainObject>> copyGrid = new ArrayList<>();
-        for (List<ITerrainObject> row : this.grid) {
-            copyGrid.add(new ArrayList<>(row));
+    public void drainChangedCells(CellChangeListener listener) {
+        grid.drainChanges(listener);
+    }
+
+    // --- Make / Undo ---
+
+    /**
+     * Makes a move like moveObject, but records every change it causes (cells,
+     * coordinates, object states, carried food) so that undo() can revert it.
+     * Moves can be nested: each undo() reverts the most recent move still open.
+     * Only the terrain is reverted; printed output and reported events are not.
+     * @param slidable The object to slide
+     * @param direction The direction of the slide
+     * @param stopLimit Maximum number of squares, or -1 for no limit
+     */
+    public void makeMove(ISlidable slidable, Direction direction, int stopLimit) {
+        if (journal == null) journal = new UndoJournal();
+        journal.begin(stateHash);
+        moveObject(slidable, direction, stopLimit);
+    }
+
+    /**
+     * Plays the turn of a penguin with the given decisions exactly as the game loop
+     * would after asking its controller, and records it like makeMove so that
+     * undo() can revert it. An eliminated penguin does nothing and a stunned one
+     * only recovers, as in the game loop; either way the turn counts as one move.
+     * Nothing is asked from controllers and the turn counter is not advanced.
+     * @param p The penguin whose turn it is
+     * @param direction The direction of the slide
+     * @param useAbility Whether the penguin uses its special action
+     * @param royalStep The one-square step of a Royal Penguin using its action (ignored otherwise)
+     */
+    public void makeTurn(Penguin p, Direction direction, boolean useAbility, Direction royalStep) {
+        if (journal == null) journal = new UndoJournal();
+        journal.begin(stateHash);
+        if (p.isEliminated()) return;
+        journal.recordState(p);
+        if (p.isStunned()) {
+            long keyBefore = StateHash.penguinKey(p);
+            p.setStunned(false);
+            stateHash ^= keyBefore ^ StateHash.penguinKey(p);
+            return;
         }
-        return copyGrid;
+        if (useAbility) {
+            useSpecialAbility(p);
+            if (p.getKind() == ObjectKind.ROYAL_PENGUIN && !p.isEliminated() && royalStep != null) {
+                moveObject(p, royalStep, 1);
+            }
+        }
+        moveObject(p, direction, calculateMoveLimit(p, useAbility));
+    }
+
+    /**
+     * Reverts the most recent move made with makeMove or makeTurn that has not been undone yet.
+     * @throws IllegalStateException if there is no such move
+     */
+    public void undo() {
+        if (journal == null) {
+            throw new IllegalStateException("There is no move to undo");
+        }
+        stateHash = journal.undo(grid);
+    }
+
+    /**
+     * @return Number of moves made with makeMove or makeTurn that can still be undone
+     */
+    public int getUndoDepth() {
+        return journal == null ? 0 : journal.depth();
+    }
+
+    /**
+     * Returns the 64-bit Zobrist hash of the current state: the content of every
+     * cell (including whether holes are plugged) and the flags and carried food
+     * weight of every penguin. It is updated incrementally by every change, so
+     * equal states reached through different moves have equal hashes, and
+     * undo() and restore() bring the previous hash back.
+     */
+    public long getStateHash() {
+        return stateHash;
+    }
+
+    /**
+     * Key of the state of a slider if it is a penguin, 0 otherwise.
+     */
+    private static long penguinKeyOf(ISlidable slider) {
+        return slider.getKind().isPenguin() ? StateHash.penguinKey((Penguin) slider) : 0;
+    }
+
+    private boolean isJournaling() {
+        return journal != null && journal.isRecording();
+    }
+
+    // --- Snapshots ---
+
+    /**
+     * Captures the complete state of the game: the grid, the position and state
+     * of every object, the food carried by the penguins, the turn order, the number
+     * of turns played and the random generator. Controllers, the renderer and the
+     * listeners are not part of the state.
+     * @return A new snapshot of this terrain
+     */
+    public TerrainSnapshot snapshot() {
+        TerrainSnapshot snapshot = new TerrainSnapshot(this, grid, objects.length,
+                penguins.size(), config.getFoodCount());
+        saveSnapshot(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Overwrites a snapshot of this terrain with the current state, without allocating.
+     * @param snapshot A snapshot previously taken from this terrain
+     */
+    public void saveSnapshot(TerrainSnapshot snapshot) {
+        checkOwner(snapshot);
+        grid.copyTo(snapshot.cells, snapshot.rowBits, snapshot.colBits);
+        for (int i = 0; i < objects.length; i++) {
+            ISlidable obj = objects[i];
+            snapshot.coordinates[i] = TerrainSnapshot.packCoordinates(obj.getX(), obj.getY());
+            snapshot.states[i] = obj.getStateBits();
+        }
+        int foodOffset = 0;
+        for (int i = 0; i < penguins.size(); i++) {
+            Penguin p = penguins.get(i);
+            snapshot.turnOrder[i] = p;
+            snapshot.foodCounts[i] = p.getFoodCount();
+            p.getFoods(snapshot.foods, foodOffset);
+            foodOffset += snapshot.foodCounts[i];
+        }
+        snapshot.randomState = random.getState();
+        snapshot.turnsPlayed = turnsPlayed;
+        snapshot.stateHash = stateHash;
+    }
+
+    /**
+     * Returns the game to the state captured in a snapshot.
+     * The snapshot is not consumed and can be restored any number of times.
+     * @param snapshot A snapshot previously taken from this terrain
+     */
+    public void restore(TerrainSnapshot snapshot) {
+        checkOwner(snapshot);
+        grid.restoreFrom(snapshot.cells, snapshot.rowBits, snapshot.colBits);
+        for (int i = 0; i < objects.length; i++) {
+            ISlidable obj = objects[i];
+            long coordinates = snapshot.coordinates[i];
+            obj.setX(TerrainSnapshot.unpackX(coordinates));
+            obj.setY(TerrainSnapshot.unpackY(coordinates));
+            obj.setStateBits(snapshot.states[i]);
+        }
+        int foodOffset = 0;
+        for (int i = 0; i < penguins.size(); i++) {
+            Penguin p = snapshot.turnOrder[i];
+            penguins.set(i, p);
+            p.setFoods(snapshot.foods, foodOffset, snapshot.foodCounts[i]);
+            foodOffset += snapshot.foodCounts[i];
+        }
+        arrangePenguinStore();
+        random.setState(snapshot.randomState);
+        turnsPlayed = snapshot.turnsPlayed;
+        stateHash = snapshot.stateHash;
+    }
+
+    private void checkOwner(TerrainSnapshot snapshot) {
+        if (snapshot.owner != this) {
+            throw new IllegalArgumentException("The snapshot belongs to another terrain");
+        }
+    }
+
+    /**
+     * Returns a read-only view over the live grid.
+     * Nothing is copied: the view reads the current cells directly, and it offers
+     * no way to modify the grid, so structural changes still go through IcyTerrain.
+     * ITerrainObject references are shared, as before.
+     * This method is intended for visualization (GridRenderer) and AI code.
+     */
+    public TerrainView getView() {
+        return grid;
     }
 
     // --- Helpers ---
@@ -593,60 +1220,39 @@ public class IcyTerrain {
 
     /**
      * Handles the preparation phase for special abilities.
-     * For Royal Penguins, executes the one-step movement.
+     * For Royal Penguins, executes the one-step movement chosen by the controller.
      * @param p The penguin using the ability
-     * @param isPlayer Whether this is the player's penguin
+     * @param controller The controller driving the penguin
      */
-    private void handleSpecialActionPreparation(Penguin p, boolean isPlayer) {
-        p.useSpecialAbility();
-        if (p instanceof RoyalPenguin && !p.isEliminated()) {
-            Direction moveDir;
-            if (isPlayer) {
-                moveDir = InputHelper.getDirection("Royal Ability: Choose direction to step 1 square (U/D/L/R): ");
-            } else {
-                moveDir = decideSafeOneStep(p);
-            }
-            System.out.println(p.getId() + " moves one square to the " + moveDir + ".");
+    private void handleSpecialActionPreparation(Penguin p, PenguinController controller) {
+        useSpecialAbility(p);
+        if (p.getKind() == ObjectKind.ROYAL_PENGUIN && !p.isEliminated()) {
+            Direction moveDir = controller.chooseRoyalStep(this, p);
+            if (listener != null) listener.royalStepChosen(p, moveDir);
             moveObject(p, moveDir, 1);
         }
     }
 
     /**
-     * AI decision logic for choosing a movement direction.
-     * Prioritizes: food > safe moves > hazards > random
-     * @param p The AI-controlled penguin
-     * @return The chosen direction
+     * Activates the special ability of a penguin and reports whether it could.
      */
-    private Direction decideAIDirection(Penguin p) {
-        Direction[] dirs = Direction.values();
-        for (Direction d : dirs) {
-            ITerrainObject obj = peekObject(p.getX(), p.getY(), d);
-            if (obj instanceof Food) return d;
-        }
-        for (Direction d : dirs) {
-            if (isSafeMove(p.getX(), p.getY(), d)) return d;
-        }
-        for (Direction d : dirs) {
-            ITerrainObject obj = peekObject(p.getX(), p.getY(), d);
-            if (obj instanceof Hazard && !(obj instanceof HoleInIce)) return d;
+    private void useSpecialAbility(Penguin p) {
+        boolean alreadyUsed = p.hasUsedAbility();
+        long keyBefore = StateHash.penguinKey(p);
+        p.useSpecialAbility();
+        stateHash ^= keyBefore ^ StateHash.penguinKey(p);
+        if (listener != null) {
+            if (alreadyUsed) listener.abilityAlreadyUsed(p);
+            else listener.abilityActivated(p);
         }
-        return Direction.values()[random.nextInt(dirs.length)];
     }
 
     /**
-     * AI decision logic for Royal Penguin's one-step ability.
-     * Chooses a safe adjacent square if possible.
-     * @param p The Royal Penguin
-     * @return A safe direction or random if no safe options
+     * Returns the random generator of this terrain.
+     * AI controllers draw from it so that seeded games stay deterministic.
      */
-    private Direction decideSafeOneStep(Penguin p) {
-        Direction[] dirs = Direction.values();
-        List<Direction> safeDirs = new ArrayList<>();
-        for (Direction d : dirs) {
-            if (isSafeMove(p.getX(), p.getY(), d)) safeDirs.add(d);
-        }
-        if (!safeDirs.isEmpty()) return safeDirs.get(random.nextInt(safeDirs.size()));
-        return dirs[random.nextInt(dirs.length)];
+    Random random() {
+        return random;
     }
 
     /**
@@ -656,11 +1262,13 @@ public class IcyTerrain {
      * @return Human-readable type name (e.g., "King Penguin")
      */
     private String getPenguinTypeName(Penguin p) {
-        if (p instanceof KingPenguin) return "King Penguin";
-        if (p instanceof EmperorPenguin) return "Emperor Penguin";
-        if (p instanceof RoyalPenguin) return "Royal Penguin";
-        if (p instanceof RockhopperPenguin) return "Rockhopper Penguin";
-        return p.getClass().getSimpleName();
+        switch (p.getKind()) {
+            case KING_PENGUIN:       return "King Penguin";
+            case EMPEROR_PENGUIN:    return "Emperor Penguin";
+            case ROYAL_PENGUIN:      return "Royal Penguin";
+            case ROCKHOPPER_PENGUIN: return "Rockhopper Penguin";
+            default:                 return p.getClass().getSimpleName();
+        }
     }
 
     /**
@@ -670,24 +1278,30 @@ public class IcyTerrain {
      * @param mine The user's penguin
      */
     private void printPenguinInfo(List<Penguin> list, Penguin mine) {
-        System.out.println("\nThese are the penguins on the icy terrain:");
+        GameOutput.println("\nThese are the penguins on the icy terrain:");
         for (Penguin p : list) {
             String suffix = (p == mine) ? " ---> YOUR PENGUIN" : "";
             String typeName = getPenguinTypeName(p);
-            System.out.println("- Penguin " + p.getId().substring(1) + " (" + p.getId() + "): " + typeName + suffix);
+            GameOutput.println("- Penguin " + p.getId().substring(1) + " (" + p.getId() + "): " + typeName + suffix);
         }
     }
 
     /**
      * Prints the legend explaining all symbols used in the grid.
      * Called once at the start of the game.
+     * @param list The penguins of the game, in turn order
      */
-    private void printLegend() {
-        System.out.println("\nLegend for Icy Terrain Grid Menu Notations:");
-        System.out.println("Penguins : P1, P2, P3");
-        System.out.println("Food items : Kr (Krill), Cr (Crustacean), An (Anchovy), Sq (Squid), Ma (Mackerel)");
-        System.out.println("Hazards : LB (LightIceBlock), HB (HeavyIceBlock), SL (SeaLion), HI (HoleInIce)");
-        System.out.println("Special : PH (Plugged HoleInIce)");
+    private void printLegend(List<Penguin> list) {
+        GameOutput.println("\nLegend for Icy Terrain Grid Menu Notations:");
+        StringBuilder ids = new StringBuilder("Penguins : ");
+        for (int i = 0; i < list.size(); i++) {
+            if (i > 0) ids.append(", ");
+            ids.append(list.get(i).getId());
+        }
+        GameOutput.println(ids);
+        GameOutput.println("Food items : Kr (Krill), Cr (Crustacean), An (Anchovy), Sq (Squid), Ma (Mackerel)");
+        GameOutput.println("Hazards : LB (LightIceBlock), HB (HeavyIceBlock), SL (SeaLion), HI (HoleInIce)");
+        GameOutput.println("Special : PH (Plugged HoleInIce)");
     }
 
     /**
@@ -696,6 +1310,7 @@ public class IcyTerrain {
      * @param mine The user's penguin
      */
     private void printScoreboard(List<Penguin> penguins, Penguin mine) {
-        new ScoreBoard().displayScoreBoard(penguins, mine);
+        // The scoreboard sorts the list it gets, which must not reorder the turns
+        new ScoreBoard().displayScoreBoard(new ArrayList<>(penguins), mine);
     }
 }
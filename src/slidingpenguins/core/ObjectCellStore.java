@@ -0,0 +1,40 @@
+package slidingpenguins.core;
+
+import slidingpenguins.objects.ITerrainObject;
+
+/**
+ * Cell store with one object reference per cell; the default.
+ */
+final class ObjectCellStore implements CellStore {
+
+    private final ITerrainObject[] cells;
+
+    ObjectCellStore(int size) {
+        this.cells = new ITerrainObject[size];
+    }
+
+    @Override
+    public int size() {
+        return cells.length;
+    }
+
+    @Override
+    public ITerrainObject get(int index) {
+        return cells[index];
+    }
+
+    @Override
+    public void set(int index, ITerrainObject obj) {
+        cells[index] = obj;
+    }
+
+    @Override
+    public CellStore newStore() {
+        return new ObjectCellStore(cells.length);
+    }
+
+    @Override
+    public void copyTo(CellStore dest) {
+        System.arraycopy(cells, 0, ((ObjectCellStore) dest).cells, 0, cells.length);
+    }
+}
@@ -0,0 +1,185 @@
+package slidingpenguins.core;
+
+import java.util.Arrays;
+
+import slidingpenguins.objects.ITerrainObject;
+import slidingpenguins.objects.food.Food;
+import slidingpenguins.objects.food.FoodType;
+import slidingpenguins.objects.hazards.HeavyIceBlock;
+import slidingpenguins.objects.hazards.HoleInIce;
+
+/**
+ * Cell store with one byte per cell, for very large grids.
+ *
+ * Food items and fixed hazards are shared instances (see Food.of, HeavyIceBlock,
+ * HoleInIce), so the byte of their cell is a code for the instance: one per food
+ * type and weight, the heavy ice block, the open and the plugged hole. Only
+ * penguins and sliding hazards have identity; their cells hold the SLIDABLE code
+ * and the objects are kept in a small hash table by cell index.
+ *
+ * Together with the occupancy bitsets of the grid a cell takes 1.25 bytes, plus
+ * the table entries of the slidable objects, instead of a reference per cell and
+ * an object per hazard and food item.
+ */
+final class PackedCellStore implements CellStore {
+
+    private static final int WEIGHTS = Food.MAX_WEIGHT - Food.MIN_WEIGHT + 1;
+
+    // Cell codes; 1 to FOOD_CODES are the food items (see foodCode)
+    private static final int EMPTY = 0;
+    private static final int FOOD_CODES = FoodType.values().length * WEIGHTS;
+    private static final int HEAVY_ICE_BLOCK = FOOD_CODES + 1;
+    private static final int OPEN_HOLE = FOOD_CODES + 2;
+    private static final int PLUGGED_HOLE = FOOD_CODES + 3;
+    private static final int SLIDABLE = FOOD_CODES + 4;
+
+    private static final int FREE = -1; // key of an unused table slot
+
+    // The shared instance of every code but EMPTY and SLIDABLE
+    private static final ITerrainObject[] DECODED = new ITerrainObject[SLIDABLE];
+
+    static {
+        for (FoodType type : FoodType.values()) {
+            for (int weight = Food.MIN_WEIGHT; weight <= Food.MAX_WEIGHT; weight++) {
+                DECODED[foodCode(type, weight)] = Food.of(type, weight);
+            }
+        }
+        DECODED[HEAVY_ICE_BLOCK] = HeavyIceBlock.instance();
+        DECODED[OPEN_HOLE] = HoleInIce.open();
+        DECODED[PLUGGED_HOLE] = HoleInIce.plugged();
+    }
+
+    private final byte[] cells;
+
+    // Slidable objects by cell index: open addressing with linear probing, at most half full
+    private int[] keys;
+    private ITerrainObject[] values;
+    private int count;
+
+    PackedCellStore(int size) {
+        this.cells = new byte[size];
+        this.keys = newKeys(16);
+        this.values = new ITerrainObject[16];
+    }
+
+    @Override
+    public int size() {
+        return cells.length;
+    }
+
+    @Override
+    public ITerrainObject get(int index) {
+        int code = cells[index];
+        return code == SLIDABLE ? lookup(index) : DECODED[code];
+    }
+
+    @Override
+    public void set(int index, ITerrainObject obj) {
+        if (cells[index] == SLIDABLE) remove(index);
+        int code = obj == null ? EMPTY : encode(obj);
+        if (code == SLIDABLE) put(index, obj);
+        cells[index] = (byte) code;
+    }
+
+    @Override
+    public CellStore newStore() {
+        return new PackedCellStore(cells.length);
+    }
+
+    @Override
+    public void copyTo(CellStore dest) {
+        PackedCellStore target = (PackedCellStore) dest;
+        System.arraycopy(cells, 0, target.cells, 0, cells.length);
+        if (target.keys.length != keys.length) {
+            target.keys = new int[keys.length];
+            target.values = new ITerrainObject[keys.length];
+        }
+        System.arraycopy(keys, 0, target.keys, 0, keys.length);
+        System.arraycopy(values, 0, target.values, 0, values.length);
+        target.count = count;
+    }
+
+    private static int foodCode(FoodType type, int weight) {
+        return 1 + type.ordinal() * WEIGHTS + weight - Food.MIN_WEIGHT;
+    }
+
+    private static int encode(ITerrainObject obj) {
+        switch (obj.getKind()) {
+            case FOOD: {
+                Food f = (Food) obj;
+                return foodCode(f.getType(), f.getWeight());
+            }
+            case HEAVY_ICE_BLOCK: return HEAVY_ICE_BLOCK;
+            case HOLE_IN_ICE:     return ((HoleInIce) obj).isPlugged() ? PLUGGED_HOLE : OPEN_HOLE;
+            default:              return SLIDABLE;
+        }
+    }
+
+    // --- Table of slidable objects ---
+
+    private static int[] newKeys(int capacity) {
+        int[] keys = new int[capacity];
+        Arrays.fill(keys, FREE);
+        return keys;
+    }
+
+    private int slotOf(int index) {
+        int h = index * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (keys.length - 1);
+    }
+
+    private ITerrainObject lookup(int index) {
+        int mask = keys.length - 1;
+        for (int slot = slotOf(index); ; slot = (slot + 1) & mask) {
+            if (keys[slot] == index) return values[slot];
+            if (keys[slot] == FREE) return null;
+        }
+    }
+
+    private void put(int index, ITerrainObject obj) {
+        if ((count + 1) * 2 > keys.length) rehash(keys.length * 2);
+        int mask = keys.length - 1;
+        int slot = slotOf(index);
+        while (keys[slot] != FREE) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = index;
+        values[slot] = obj;
+        count++;
+    }
+
+    /**
+     * Removes the entry of a cell, moving the later entries of its cluster back
+     * so that no probe sequence is broken.
+     */
+    private void remove(int index) {
+        int mask = keys.length - 1;
+        int gap = slotOf(index);
+        while (keys[gap] != index) {
+            gap = (gap + 1) & mask;
+        }
+        for (int next = (gap + 1) & mask; keys[next] != FREE; next = (next + 1) & mask) {
+            int home = slotOf(keys[next]);
+            // The entry may fill the gap unless its home slot lies after the gap
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = FREE;
+        values[gap] = null;
+        count--;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        ITerrainObject[] oldValues = values;
+        keys = newKeys(capacity);
+        values = new ITerrainObject[capacity];
+        count = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) put(oldKeys[i], oldValues[i]);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package slidingpenguins.core;
+
+import slidingpenguins.objects.penguins.Penguin;
+
+/**
+ * Decides the moves of a penguin during its turn.
+ * Every penguin, including the user's penguin, is driven by a controller:
+ * the console controller reads the user's input and the AI controllers decide
+ * on their own. Controllers are called only for penguins that are neither
+ * eliminated nor stunned.
+ */
+public interface PenguinController {
+
+    /**
+     * Chooses the direction the penguin slides this turn.
+     * @param terrain The terrain the penguin is on
+     * @param penguin The penguin whose turn it is
+     * @return The chosen direction
+     */
+    Direction chooseDirection(IcyTerrain terrain, Penguin penguin);
+
+    /**
+     * Decides whether the penguin uses its special action this turn.
+     * Called after the direction has been chosen. Must return false if the
+     * penguin has already used its special action.
+     * @param terrain The terrain the penguin is on
+     * @param penguin The penguin whose turn it is
+     * @param chosenDir The direction chosen for this turn
+     * @return true to use the special action
+     */
+    boolean chooseToUseAbility(IcyTerrain terrain, Penguin penguin, Direction chosenDir);
+
+    /**
+     * Chooses the one-square step of a Royal Penguin using its special action.
+     * @param terrain The terrain the penguin is on
+     * @param penguin The Royal Penguin
+     * @return The direction of the step
+     */
+    Direction chooseRoyalStep(IcyTerrain terrain, Penguin penguin);
+
+    /**
+     * Tells whether the decisions come from a person at the console, who already
+     * sees them, rather than from an AI whose decisions are announced (see ConsoleNarrator).
+     * @return true for a controller that asks the user
+     */
+    default boolean isInteractive() {
+        return false;
+    }
+}
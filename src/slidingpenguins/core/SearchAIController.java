@@ -0,0 +1,358 @@
+package slidingpenguins.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import slidingpenguins.objects.ObjectKind;
+import slidingpenguins.objects.penguins.Penguin;
+
+/**
+ * AI controller that looks several turns ahead instead of one square.
+ *
+ * Every candidate turn of the penguin (direction, special action, Royal step) is
+ * simulated with full slides and collision chains through makeTurn/undo, followed
+ * by the turns of the other penguins, whose moves are averaged over the four
+ * directions (expectimax). Positions are scored by the food carried, with
+ * penalties for being eliminated or stunned.
+ *
+ * The search deepens one turn at a time until the time budget per decision
+ * expires, the depth limit is reached or the game ends; the candidates are
+ * split over a fork/join pool, each worker searching its own copy of the terrain.
+ * The best move of the deepest completed iteration is played. If not even the
+ * first iteration completes in time, the decision is left to the greedy policy.
+ *
+ * The same position is often reached through different move orders, and every
+ * iteration searches the positions of the previous one again. Search results
+ * are therefore kept in a transposition table keyed by the terrain's state hash,
+ * which all workers share.
+ *
+ * The controller keeps the plan of its last decision between the calls of a
+ * turn, so an instance must not be shared between games played at the same time.
+ * Close it to stop its worker threads.
+ */
+public class SearchAIController implements PenguinController, AutoCloseable {
+
+    private static final long DEFAULT_BUDGET_MILLIS = 100;
+    private static final int DEFAULT_MAX_DEPTH = 4;
+    private static final int DEFAULT_TABLE_CAPACITY = 1 << 18;
+
+    // Position scoring, in food weight units
+    private static final double ELIMINATION_PENALTY = 10;
+    private static final double STUN_PENALTY = 1;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final long budgetNanos;
+    private final int maxDepth;
+    private final ForkJoinPool pool;
+    private final TranspositionTable table;
+    private final GreedyAIController fallback = new GreedyAIController();
+
+    // Decision of the last chooseDirection call; null plan means the greedy policy decides
+    private Penguin plannedPenguin;
+    private Move plan;
+
+    /**
+     * Creates a controller with a 100 ms budget that searches up to 4 turns ahead on every core.
+     */
+    public SearchAIController() {
+        this(DEFAULT_BUDGET_MILLIS, DEFAULT_MAX_DEPTH, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param budgetMillis Time budget of one decision in milliseconds
+     * @param maxDepth Maximum number of own turns to look ahead
+     * @param parallelism Number of worker threads
+     */
+    public SearchAIController(long budgetMillis, int maxDepth, int parallelism) {
+        this(budgetMillis, maxDepth, parallelism, new TranspositionTable(DEFAULT_TABLE_CAPACITY));
+    }
+
+    /**
+     * @param budgetMillis Time budget of one decision in milliseconds
+     * @param maxDepth Maximum number of own turns to look ahead
+     * @param parallelism Number of worker threads
+     * @param table Transposition table for the search results; may be shared with other controllers
+     */
+    public SearchAIController(long budgetMillis, int maxDepth, int parallelism, TranspositionTable table) {
+        if (budgetMillis <= 0 || maxDepth < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Invalid search settings: budget=" + budgetMillis
+                    + " ms, depth=" + maxDepth + ", parallelism=" + parallelism);
+        }
+        this.budgetNanos = budgetMillis * 1_000_000;
+        this.maxDepth = maxDepth;
+        this.pool = new ForkJoinPool(parallelism);
+        this.table = table;
+    }
+
+    @Override
+    public Direction chooseDirection(IcyTerrain terrain, Penguin p) {
+        plannedPenguin = p;
+        plan = search(terrain, p);
+        if (plan == null) return fallback.chooseDirection(terrain, p);
+        return plan.direction;
+    }
+
+    @Override
+    public boolean chooseToUseAbility(IcyTerrain terrain, Penguin p, Direction chosenDir) {
+        if (plannedPenguin != p || plan == null) return fallback.chooseToUseAbility(terrain, p, chosenDir);
+        return !p.hasUsedAbility() && plan.useAbility;
+    }
+
+    @Override
+    public Direction chooseRoyalStep(IcyTerrain terrain, Penguin p) {
+        if (plannedPenguin != p || plan == null || plan.royalStep == null) {
+            return fallback.chooseRoyalStep(terrain, p);
+        }
+        return plan.royalStep;
+    }
+
+    /**
+     * Stops the worker threads. The controller cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    // --- Search ---
+
+    /**
+     * Runs the iterative deepening search for the penguin's turn.
+     * @return The best move of the deepest completed iteration, or null if none completed in time
+     */
+    private Move search(IcyTerrain terrain, Penguin p) {
+        long deadline = System.nanoTime() + budgetNanos;
+        table.newSearch();
+        List<Move> moves = candidateMoves(p);
+        List<Penguin> turnOrder = terrain.getPenguins();
+        int me = turnOrder.indexOf(p);
+
+        // Plies left until the end of the game, counting this turn's remaining penguins
+        int turnsLeft = terrain.getConfig().getMaxTurns() - terrain.getTurnsPlayed();
+        int pliesLeft = turnsLeft * turnOrder.size() - me;
+
+        int workerCount = Math.min(pool.getParallelism(), moves.size());
+        List<SearchWorker> workers = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(new SearchWorker(new IcyTerrain(terrain), table, me, moves, i, workerCount, deadline));
+        }
+
+        Move best = null;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            int plies = Math.min(depth * turnOrder.size(), pliesLeft);
+            double[] values = new double[moves.size()];
+            if (!runIteration(workers, plies, values)) break;
+            best = moves.get(indexOfMax(values));
+            if (plies == pliesLeft || System.nanoTime() >= deadline) break;
+        }
+        return best;
+    }
+
+    /**
+     * Searches every candidate to the given number of plies in parallel.
+     * @return false if the deadline expired before all candidates were searched
+     */
+    private boolean runIteration(List<SearchWorker> workers, int plies, double[] values) {
+        List<Callable<Boolean>> tasks = new ArrayList<>(workers.size());
+        for (SearchWorker worker : workers) {
+            tasks.add(() -> worker.searchAll(plies, values));
+        }
+        try {
+            boolean complete = true;
+            for (Future<Boolean> result : pool.invokeAll(tasks)) {
+                complete &= result.get();
+            }
+            return complete;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search failed", e.getCause());
+        }
+    }
+
+    private static int indexOfMax(double[] values) {
+        int best = 0;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] > values[best]) best = i;
+        }
+        return best;
+    }
+
+    /**
+     * Lists every turn the penguin can play: each direction without its special
+     * action and, while the action is unused, each direction with it (for a Royal
+     * Penguin combined with each one-square step).
+     */
+    static List<Move> candidateMoves(Penguin p) {
+        List<Move> moves = new ArrayList<>();
+        for (Direction d : DIRECTIONS) {
+            moves.add(new Move(d, false, null));
+        }
+        if (!p.hasUsedAbility()) {
+            for (Direction d : DIRECTIONS) {
+                if (p.getKind() == ObjectKind.ROYAL_PENGUIN) {
+                    for (Direction step : DIRECTIONS) {
+                        moves.add(new Move(d, true, step));
+                    }
+                } else {
+                    moves.add(new Move(d, true, null));
+                }
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * One complete turn of a penguin.
+     */
+    static final class Move {
+
+        final Direction direction;
+        final boolean useAbility;
+        final Direction royalStep;
+
+        Move(Direction direction, boolean useAbility, Direction royalStep) {
+            this.direction = direction;
+            this.useAbility = useAbility;
+            this.royalStep = royalStep;
+        }
+    }
+
+    /**
+     * Thrown inside a worker when the deadline expires. Carries no stack trace,
+     * since it only unwinds the recursion.
+     */
+    private static final class SearchTimeout extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        SearchTimeout() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Searches a fixed share of the candidates (every count-th one, starting at
+     * offset) on a private copy of the terrain, which it always leaves unchanged.
+     */
+    private static final class SearchWorker {
+
+        private static final SearchTimeout TIMEOUT = new SearchTimeout();
+
+        private final IcyTerrain terrain;
+        private final TranspositionTable table;
+        private final List<Penguin> turnOrder;
+        private final Penguin me;
+        private final int meIndex;
+        private final List<Move> moves;
+        private final List<Move> movesWithoutAbility;
+        private final int offset;
+        private final int count;
+        private final long deadline;
+
+        SearchWorker(IcyTerrain terrain, TranspositionTable table, int meIndex, List<Move> moves,
+                     int offset, int count, long deadline) {
+            this.terrain = terrain;
+            this.table = table;
+            this.turnOrder = terrain.getPenguins();
+            this.me = turnOrder.get(meIndex);
+            this.meIndex = meIndex;
+            this.moves = moves;
+            this.movesWithoutAbility = moves.subList(0, DIRECTIONS.length);
+            this.offset = offset;
+            this.count = count;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Scores this worker's candidates to the given depth.
+         * @return false if the deadline expired first
+         */
+        boolean searchAll(int plies, double[] values) {
+            try {
+                for (int i = offset; i < moves.size(); i += count) {
+                    Move move = moves.get(i);
+                    terrain.makeTurn(me, move.direction, move.useAbility, move.royalStep);
+                    try {
+                        values[i] = value(1, plies);
+                    } finally {
+                        terrain.undo();
+                    }
+                }
+                return true;
+            } catch (SearchTimeout e) {
+                return false;
+            }
+        }
+
+        /**
+         * Expected score of the current position with the given ply to move,
+         * taken from the transposition table when it was searched deeply enough before.
+         */
+        private double value(int ply, int plies) {
+            if (System.nanoTime() >= deadline) throw TIMEOUT;
+            if (ply >= plies || me.isEliminated()) return evaluate();
+
+            int mover = (meIndex + ply) % turnOrder.size();
+            long key = terrain.getStateHash() ^ StateHash.plyKey(meIndex, mover);
+            long entry = table.probe(key, plies - ply);
+            if (entry != TranspositionTable.MISS) return TranspositionTable.valueOf(entry);
+            double value = search(turnOrder.get(mover), ply, plies);
+            table.store(key, plies - ply, (float) value);
+            return value;
+        }
+
+        /**
+         * Searches the turn of the given penguin: the searching penguin maximizes,
+         * the others are averaged over their directions.
+         */
+        private double search(Penguin p, int ply, int plies) {
+            if (p.isEliminated() || p.isStunned()) {
+                terrain.makeTurn(p, null, false, null);
+                try {
+                    return value(ply + 1, plies);
+                } finally {
+                    terrain.undo();
+                }
+            }
+
+            if (p == me) {
+                double best = Double.NEGATIVE_INFINITY;
+                // The candidates of the root are still valid while the action is unused
+                for (Move move : p.hasUsedAbility() ? movesWithoutAbility : moves) {
+                    terrain.makeTurn(p, move.direction, move.useAbility, move.royalStep);
+                    try {
+                        best = Math.max(best, value(ply + 1, plies));
+                    } finally {
+                        terrain.undo();
+                    }
+                }
+                return best;
+            }
+
+            double sum = 0;
+            for (Direction d : DIRECTIONS) {
+                terrain.makeTurn(p, d, false, null);
+                try {
+                    sum += value(ply + 1, plies);
+                } finally {
+                    terrain.undo();
+                }
+            }
+            return sum / DIRECTIONS.length;
+        }
+
+        private double evaluate() {
+            double score = me.getTotalFoodWeight();
+            if (me.isEliminated()) score -= ELIMINATION_PENALTY;
+            if (me.isStunned()) score -= STUN_PENALTY;
+            return score;
+        }
+    }
+}
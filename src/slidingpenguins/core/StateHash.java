@@ -0,0 +1,92 @@
+package slidingpenguins.core;
+
+import slidingpenguins.objects.ITerrainObject;
+import slidingpenguins.objects.food.Food;
+import slidingpenguins.objects.hazards.HoleInIce;
+import slidingpenguins.objects.penguins.Penguin;
+
+/**
+ * Zobrist keys of the terrain state hash.
+ * The hash of a terrain is the XOR of one key per occupied cell, derived from
+ * the cell index and the content of the cell (which penguin, which food, which
+ * hazard, whether a hole is plugged), and one key per penguin, derived from its
+ * ID, its eliminated/stunned/ability flags and the weight of the food it carries.
+ * Since XOR is its own inverse, IcyTerrain keeps the hash up to date by XORing a
+ * key out before a change and the new key in after it.
+ *
+ * A classic Zobrist table would need a random number for every cell and kind of
+ * content, which does not fit grids with millions of cells. The keys are computed
+ * instead, by running the cell index and the content through the splitmix64
+ * finalizer, which gives the same independence in a few multiplications.
+ */
+final class StateHash {
+
+    // Arbitrary odd constants that keep the different key families apart
+    private static final long CELL_SALT = 0x6A09E667F3BCC909L;
+    private static final long PENGUIN_CELL_SALT = 0xBB67AE8584CAA73BL;
+    private static final long PENGUIN_STATE_SALT = 0x3C6EF372FE94F82BL;
+    private static final long FOOD_SALT = 0xA54FF53A5F1D36F1L;
+    private static final long PLY_SALT = 0x510E527FADE682D1L;
+
+    private static final long HEAVY_ICE_BLOCK = 0x9B05688C2B3E6C1FL;
+    private static final long LIGHT_ICE_BLOCK = 0x1F83D9ABFB41BD6BL;
+    private static final long SEA_LION = 0x5BE0CD19137E2179L;
+    private static final long HOLE_IN_ICE = 0xCBBB9D5DC1059ED8L;
+    private static final long PLUGGED_HOLE = 0x629A292A367CD507L;
+
+    private StateHash() {
+    }
+
+    /**
+     * Key of an object standing on a cell. Depends on the plugged state of holes,
+     * so a plug must be bracketed by XORing the key out and in again.
+     * @param cellIndex Row-major index of the cell
+     */
+    static long cellKey(long cellIndex, ITerrainObject obj) {
+        return mix(mix(cellIndex + CELL_SALT) ^ contentKey(obj));
+    }
+
+    /**
+     * Key of the state of a penguin that is not visible on the grid.
+     */
+    static long penguinKey(Penguin p) {
+        long flags = (p.isEliminated() ? 1 : 0) | (p.isStunned() ? 2 : 0) | (p.hasUsedAbility() ? 4 : 0);
+        return mix(mix(PENGUIN_STATE_SALT ^ p.getId().hashCode()) ^ (flags | (long) p.getTotalFoodWeight() << 8));
+    }
+
+    /**
+     * Key that tells apart the search nodes of one position by the penguin to move
+     * and the penguin the search is for.
+     */
+    static long plyKey(int searcher, int mover) {
+        return mix(PLY_SALT + ((long) searcher << 32) + mover);
+    }
+
+    private static long contentKey(ITerrainObject obj) {
+        switch (obj.getKind()) {
+            case KING_PENGUIN:
+            case EMPEROR_PENGUIN:
+            case ROYAL_PENGUIN:
+            case ROCKHOPPER_PENGUIN:
+                return mix(PENGUIN_CELL_SALT ^ ((Penguin) obj).getId().hashCode());
+            case FOOD: {
+                Food f = (Food) obj;
+                return mix(FOOD_SALT + f.getType().ordinal() * 16L + f.getWeight());
+            }
+            case HOLE_IN_ICE:     return ((HoleInIce) obj).isPlugged() ? PLUGGED_HOLE : HOLE_IN_ICE;
+            case HEAVY_ICE_BLOCK: return HEAVY_ICE_BLOCK;
+            case LIGHT_ICE_BLOCK: return LIGHT_ICE_BLOCK;
+            case SEA_LION:        return SEA_LION;
+            default: throw new IllegalArgumentException("Unknown terrain object: " + obj);
+        }
+    }
+
+    /**
+     * The splitmix64 finalizer.
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,325 @@
+package slidingpenguins.core;
+
+import java.util.Arrays;
+import slidingpenguins.objects.ITerrainObject;
+
+/**
+ * Flat, row-major cell store behind the IcyTerrain.
+ * Cell (x, y) lives at index {@code y * cols + x} of a single store, so a lookup
+ * is one bounds check and one array access instead of two nested list lookups.
+ * The store keeps either a reference per cell (ObjectCellStore) or, for very large
+ * grids, a byte per cell (PackedCellStore).
+ * The dimensions are fixed at construction and may be far bigger than the
+ * default 10x10 game.
+ * Outside the core package the grid is only reachable through the read-only
+ * {@link TerrainView} interface, so mutators stay package-private.
+ *
+ * When change tracking is enabled, every written cell is remembered once
+ * (deduplicated with a bitset) until the changes are drained, so incremental
+ * renderers only have to look at the cells that actually changed.
+ *
+ * Occupancy is mirrored in one bitset per row and one per column, kept in sync
+ * by set and clear. {@link #freeRun} uses them to find the next occupied cell in
+ * a direction by scanning 64 cells per word instead of probing cell by cell.
+ */
+class TerrainGrid implements TerrainView {
+
+    private final int rows;
+    private final int cols;
+    private final CellStore cells;
+
+    // Occupancy index: bit x of row y and bit y of column x are set while (x, y) holds an object
+    private final int rowWords;
+    private final int colWords;
+    private final long[] rowBits;
+    private final long[] colBits;
+
+    // Change tracking (disabled until first requested)
+    private boolean tracking;
+    private long[] dirtyBits;
+    private int[] dirtyCells;
+    private int dirtyCount;
+
+    /**
+     * Creates an empty grid with the given dimensions and a reference per cell.
+     * @param rows Number of rows (Y axis)
+     * @param cols Number of columns (X axis)
+     * @throws IllegalArgumentException if a dimension is not positive or the cell count does not fit in an array
+     */
+    TerrainGrid(int rows, int cols) {
+        this(rows, cols, false);
+    }
+
+    /**
+     * Creates an empty grid with the given dimensions.
+     * @param rows Number of rows (Y axis)
+     * @param cols Number of columns (X axis)
+     * @param packed true to keep a byte per cell (see PackedCellStore)
+     * @throws IllegalArgumentException if a dimension is not positive or the cell count does not fit in an array
+     */
+    TerrainGrid(int rows, int cols, boolean packed) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Grid dimensions must be positive: " + rows + "x" + cols);
+        }
+        long cellCount = (long) rows * cols;
+        if (cellCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Grid is too large: " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.cells = packed ? new PackedCellStore((int) cellCount) : new ObjectCellStore((int) cellCount);
+        this.rowWords = (cols + 63) >>> 6;
+        this.colWords = (rows + 63) >>> 6;
+        this.rowBits = new long[rows * rowWords];
+        this.colBits = new long[cols * colWords];
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * @return Total number of cells (rows * cols)
+     */
+    int size() {
+        return cells.size();
+    }
+
+    boolean isOutOfBounds(int x, int y) {
+        return x < 0 || x >= cols || y < 0 || y >= rows;
+    }
+
+    /**
+     * Converts a coordinate into its row-major array index.
+     * The coordinate must be inside the grid.
+     */
+    int indexOf(int x, int y) {
+        return y * cols + x;
+    }
+
+    /**
+     * Returns the object at (x, y), or null if the cell is empty or outside the grid.
+     */
+    ITerrainObject get(int x, int y) {
+        if (isOutOfBounds(x, y)) return null;
+        return cells.get(y * cols + x);
+    }
+
+    @Override
+    public ITerrainObject getObjectAt(int x, int y) {
+        return get(x, y);
+    }
+
+    /**
+     * Returns the object stored at the given row-major index.
+     */
+    ITerrainObject get(int index) {
+        return cells.get(index);
+    }
+
+    /**
+     * Stores an object at (x, y). The coordinate must be inside the grid.
+     */
+    void set(int x, int y, ITerrainObject obj) {
+        int index = y * cols + x;
+        cells.set(index, obj);
+        if (obj != null) {
+            rowBits[y * rowWords + (x >>> 6)] |= 1L << x;
+            colBits[x * colWords + (y >>> 6)] |= 1L << y;
+        } else {
+            clearOccupied(x, y);
+        }
+        if (tracking) markDirty(index);
+    }
+
+    /**
+     * Empties the cell at (x, y). Coordinates outside the grid are ignored.
+     */
+    void clear(int x, int y) {
+        if (isOutOfBounds(x, y)) return;
+        int index = y * cols + x;
+        cells.set(index, null);
+        clearOccupied(x, y);
+        if (tracking) markDirty(index);
+    }
+
+    private void clearOccupied(int x, int y) {
+        rowBits[y * rowWords + (x >>> 6)] &= ~(1L << x);
+        colBits[x * colWords + (y >>> 6)] &= ~(1L << y);
+    }
+
+    // --- Occupancy index ---
+
+    /**
+     * Counts the empty cells that follow (x, y) in the given direction, up to the
+     * next occupied cell or the edge of the grid. The cell (x, y) itself is not examined.
+     * @return Number of cells an object at (x, y) can slide before reaching an obstacle or the edge
+     */
+    int freeRun(int x, int y, Direction direction) {
+        switch (direction) {
+            case RIGHT: {
+                int next = nextOccupied(rowBits, y * rowWords, x + 1, cols);
+                return (next < 0 ? cols : next) - x - 1;
+            }
+            case LEFT: {
+                int previous = previousOccupied(rowBits, y * rowWords, x - 1);
+                return x - previous - 1;
+            }
+            case DOWN: {
+                int next = nextOccupied(colBits, x * colWords, y + 1, rows);
+                return (next < 0 ? rows : next) - y - 1;
+            }
+            case UP: {
+                int previous = previousOccupied(colBits, x * colWords, y - 1);
+                return y - previous - 1;
+            }
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Returns the first set bit at or after {@code from} in the line starting at
+     * word {@code base}, or -1 if there is none below {@code length}.
+     */
+    private static int nextOccupied(long[] bits, int base, int from, int length) {
+        if (from >= length) return -1;
+        int word = from >>> 6;
+        long current = bits[base + word] & (-1L << from);
+        int lastWord = (length - 1) >>> 6;
+        while (true) {
+            if (current != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(current);
+            }
+            if (++word > lastWord) return -1;
+            current = bits[base + word];
+        }
+    }
+
+    /**
+     * Returns the last set bit at or before {@code from} in the line starting at
+     * word {@code base}, or -1 if there is none.
+     */
+    private static int previousOccupied(long[] bits, int base, int from) {
+        if (from < 0) return -1;
+        int word = from >>> 6;
+        long current = bits[base + word] & (-1L >>> (63 - (from & 63)));
+        while (true) {
+            if (current != 0) {
+                return (word << 6) + 63 - Long.numberOfLeadingZeros(current);
+            }
+            if (--word < 0) return -1;
+            current = bits[base + word];
+        }
+    }
+
+    // --- Snapshots ---
+
+    int rowBitsLength() {
+        return rowBits.length;
+    }
+
+    int colBitsLength() {
+        return colBits.length;
+    }
+
+    /**
+     * @return An empty cell store like this grid's, for copyTo
+     */
+    CellStore newCellStore() {
+        return cells.newStore();
+    }
+
+    /**
+     * Copies the cells and the occupancy index into a store from newCellStore and arrays sized like this grid's.
+     */
+    void copyTo(CellStore cellsCopy, long[] rowBitsCopy, long[] colBitsCopy) {
+        cells.copyTo(cellsCopy);
+        System.arraycopy(rowBits, 0, rowBitsCopy, 0, rowBits.length);
+        System.arraycopy(colBits, 0, colBitsCopy, 0, colBits.length);
+    }
+
+    /**
+     * Overwrites the cells and the occupancy index with arrays filled by copyTo.
+     * When tracking changes, every cell whose content differs is marked as changed.
+     */
+    void restoreFrom(CellStore cellsCopy, long[] rowBitsCopy, long[] colBitsCopy) {
+        if (tracking) {
+            for (int i = 0; i < cells.size(); i++) {
+                if (cells.get(i) != cellsCopy.get(i)) markDirty(i);
+            }
+        }
+        cellsCopy.copyTo(cells);
+        System.arraycopy(rowBitsCopy, 0, rowBits, 0, rowBits.length);
+        System.arraycopy(colBitsCopy, 0, colBits, 0, colBits.length);
+    }
+
+    // --- Change tracking ---
+
+    boolean isTracking() {
+        return tracking;
+    }
+
+    /**
+     * Enables or disables change tracking. Pending changes are discarded either way.
+     */
+    void setTracking(boolean enabled) {
+        if (enabled && dirtyBits == null) {
+            dirtyBits = new long[(cells.size() + 63) >>> 6];
+            dirtyCells = new int[64];
+        }
+        if (dirtyBits != null) {
+            discardChanges();
+        }
+        this.tracking = enabled;
+        if (!enabled) {
+            dirtyBits = null;
+            dirtyCells = null;
+        }
+    }
+
+    /**
+     * @return Number of distinct cells changed since the last drain
+     */
+    int changedCount() {
+        return dirtyCount;
+    }
+
+    /**
+     * Reports every cell changed since the last drain with its current content,
+     * in the order the cells were first changed, and then forgets them.
+     */
+    void drainChanges(CellChangeListener listener) {
+        for (int i = 0; i < dirtyCount; i++) {
+            int index = dirtyCells[i];
+            dirtyBits[index >>> 6] &= ~(1L << index);
+            listener.onCellChanged(index % cols, index / cols, cells.get(index));
+        }
+        dirtyCount = 0;
+    }
+
+    private void discardChanges() {
+        for (int i = 0; i < dirtyCount; i++) {
+            int index = dirtyCells[i];
+            dirtyBits[index >>> 6] &= ~(1L << index);
+        }
+        dirtyCount = 0;
+    }
+
+    private void markDirty(int index) {
+        long bit = 1L << index;
+        int word = index >>> 6;
+        if ((dirtyBits[word] & bit) != 0) return;
+        dirtyBits[word] |= bit;
+        if (dirtyCount == dirtyCells.length) {
+            dirtyCells = Arrays.copyOf(dirtyCells, Math.min(dirtyCount * 2, cells.size()));
+        }
+        dirtyCells[dirtyCount++] = index;
+    }
+}
@@ -0,0 +1,73 @@
+package slidingpenguins.core;
+
+import slidingpenguins.objects.food.Food;
+import slidingpenguins.objects.penguins.Penguin;
+
+/**
+ * Complete state of one IcyTerrain at a point in time, created by
+ * IcyTerrain.snapshot() and applied with IcyTerrain.restore().
+ *
+ * The objects of a game are never replaced while it is played, so a snapshot
+ * does not copy them. It copies the grid cells (into a cell store of the same kind)
+ * and the occupancy index, and for every penguin and sliding hazard (in the order they
+ * were generated) its coordinates packed into a long and its state bits (see
+ * ITerrainObject.getStateBits). It also keeps the food carried by each penguin,
+ * the turn order, the random generator state and the state hash. All arrays are
+ * allocated once, so refreshing a snapshot with IcyTerrain.saveSnapshot does not
+ * allocate.
+ *
+ * A snapshot can only be restored into the terrain it was taken from.
+ */
+public final class TerrainSnapshot {
+
+    final IcyTerrain owner;
+
+    // Grid
+    final CellStore cells;
+    final long[] rowBits;
+    final long[] colBits;
+
+    // Objects, indexed like the terrain's object registry
+    final long[] coordinates;
+    final int[] states;
+
+    // Penguins: turn order and the food carried by each of them, in that order
+    final Penguin[] turnOrder;
+    final int[] foodCounts;
+    final Food[] foods;
+
+    long randomState;
+    int turnsPlayed;
+    long stateHash;
+
+    TerrainSnapshot(IcyTerrain owner, TerrainGrid grid, int objectCount, int penguinCount, int foodCount) {
+        this.owner = owner;
+        this.cells = grid.newCellStore();
+        this.rowBits = new long[grid.rowBitsLength()];
+        this.colBits = new long[grid.colBitsLength()];
+        this.coordinates = new long[objectCount];
+        this.states = new int[objectCount];
+        this.turnOrder = new Penguin[penguinCount];
+        this.foodCounts = new int[penguinCount];
+        this.foods = new Food[foodCount];
+    }
+
+    static long packCoordinates(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    static int unpackX(long coordinates) {
+        return (int) (coordinates >> 32);
+    }
+
+    static int unpackY(long coordinates) {
+        return (int) coordinates;
+    }
+
+    /**
+     * @return Number of turns completed when the snapshot was taken
+     */
+    public int getTurnsPlayed() {
+        return turnsPlayed;
+    }
+}
@@ -0,0 +1,30 @@
+package slidingpenguins.core;
+
+import slidingpenguins.objects.ITerrainObject;
+
+/**
+ * Read-only view over the cells of an IcyTerrain.
+ * The view reads the live grid directly, so obtaining it and reading from it
+ * allocates nothing. It offers no way to place or remove objects; structural
+ * changes are only possible through the IcyTerrain itself.
+ */
+public interface TerrainView {
+
+    /**
+     * @return Number of rows (Y axis) of the grid
+     */
+    int getRows();
+
+    /**
+     * @return Number of columns (X axis) of the grid
+     */
+    int getCols();
+
+    /**
+     * Returns the object at the given cell.
+     * @param x Column of the cell
+     * @param y Row of the cell
+     * @return The object on the cell, or null if the cell is empty or outside the grid
+     */
+    ITerrainObject getObjectAt(int x, int y);
+}
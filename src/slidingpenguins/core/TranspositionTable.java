@@ -0,0 +1,131 @@
+package slidingpenguins.core;
+
+/**
+ * Fixed-size table of search results keyed by state hash, shared without locks
+ * by the threads of a search.
+ *
+ * Every entry is two longs, (key ^ data) and data, written with plain stores.
+ * A reader accepts an entry only if both halves XOR back to its key, so an entry
+ * torn by a concurrent writer, or holding another key, simply reads as a miss
+ * instead of returning data that belongs to another position.
+ *
+ * Entries are grouped in buckets of two. A new result replaces the entry with
+ * the same key, otherwise the less valuable one of the bucket: entries left by
+ * an earlier search (see newSearch) first, then the one searched less deeply.
+ *
+ * The data word holds the value as a float, the depth it was searched to and
+ * the age of the search that stored it.
+ */
+public final class TranspositionTable {
+
+    /**
+     * Returned by probe when the table holds no usable entry.
+     */
+    public static final long MISS = 0;
+
+    private static final int ENTRY_LONGS = 2;
+    private static final int BUCKET_ENTRIES = 2;
+    private static final long PRESENT = 1L << 63; // set in every stored data word, so data is never MISS
+
+    private final long[] table;
+    private final int bucketMask;
+    private volatile int age;
+
+    /**
+     * @param capacity Number of entries, rounded up to a power of two (at least 2)
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity < 1 || capacity > 1 << 28) {
+            throw new IllegalArgumentException("Capacity must be within 1-" + (1 << 28) + ": " + capacity);
+        }
+        int entries = Math.max(BUCKET_ENTRIES, Integer.highestOneBit(capacity - 1) << 1);
+        this.table = new long[entries * ENTRY_LONGS];
+        this.bucketMask = entries / BUCKET_ENTRIES - 1;
+    }
+
+    /**
+     * @return Number of entries
+     */
+    public int capacity() {
+        return table.length / ENTRY_LONGS;
+    }
+
+    /**
+     * Starts a new search: the entries stored so far stay readable but are replaced first.
+     */
+    public void newSearch() {
+        age = (age + 1) & 0xFF;
+    }
+
+    /**
+     * Looks up a position.
+     * @param key State hash of the position
+     * @param minDepth Minimum depth the stored result must have been searched to
+     * @return The data word of the entry, or MISS
+     */
+    public long probe(long key, int minDepth) {
+        int base = bucketBase(key);
+        for (int i = 0; i < BUCKET_ENTRIES; i++) {
+            int slot = base + i * ENTRY_LONGS;
+            long data = table[slot + 1];
+            if ((table[slot] ^ data) == key && data != MISS && depthOf(data) >= minDepth) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores the result of a search.
+     * @param key State hash of the position
+     * @param depth Depth the position was searched to (0-255)
+     * @param value The value found
+     */
+    public void store(long key, int depth, float value) {
+        int currentAge = age;
+        long data = PRESENT | (long) currentAge << 40 | (long) (depth & 0xFF) << 32
+                | (Float.floatToRawIntBits(value) & 0xFFFFFFFFL);
+        int base = bucketBase(key);
+        int victim = -1;
+        int victimPriority = Integer.MAX_VALUE;
+        for (int i = 0; i < BUCKET_ENTRIES; i++) {
+            int slot = base + i * ENTRY_LONGS;
+            long stored = table[slot + 1];
+            if ((table[slot] ^ stored) == key) {
+                if (depthOf(stored) > depth && ageOf(stored) == currentAge) return; // keep the deeper result
+                victim = slot;
+                break;
+            }
+            // Empty and stale entries go first, then shallow ones
+            int priority = stored == MISS ? -1 : (ageOf(stored) != currentAge ? 0 : 1 + depthOf(stored));
+            if (priority < victimPriority) {
+                victimPriority = priority;
+                victim = slot;
+            }
+        }
+        table[victim] = key ^ data;
+        table[victim + 1] = data;
+    }
+
+    /**
+     * @return The value of a data word returned by probe
+     */
+    public static float valueOf(long data) {
+        return Float.intBitsToFloat((int) data);
+    }
+
+    /**
+     * @return The depth of a data word returned by probe
+     */
+    public static int depthOf(long data) {
+        return (int) (data >>> 32) & 0xFF;
+    }
+
+    private static int ageOf(long data) {
+        return (int) (data >>> 40) & 0xFF;
+    }
+
+    private int bucketBase(long key) {
+        return ((int) (key ^ (key >>> 32)) & bucketMask) * BUCKET_ENTRIES * ENTRY_LONGS;
+    }
+}
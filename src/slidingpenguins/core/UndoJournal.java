@@ -0,0 +1,147 @@
+package slidingpenguins.core;
+
+import java.util.Arrays;
+
+import slidingpenguins.objects.ISlidable;
+import slidingpenguins.objects.ITerrainObject;
+import slidingpenguins.objects.food.Food;
+import slidingpenguins.objects.penguins.Penguin;
+
+/**
+ * Records the mutations of moves made with IcyTerrain.makeMove so that
+ * IcyTerrain.undo can revert them exactly.
+ *
+ * Every record stores the value that is about to be overwritten:
+ * CELL the previous content of a cell, COORD the previous coordinates of an
+ * object, STATE its previous state bits (flags, direction, plugged, ...) and
+ * FOOD the food carried by a penguin. Undoing replays the records of the last
+ * move backwards, so the oldest value of everything written wins.
+ * Records live in parallel arrays that only grow, so a journal that has reached
+ * its working size no longer allocates, however many moves are made and undone.
+ */
+final class UndoJournal {
+
+    private static final byte CELL = 0;
+    private static final byte COORD = 1;
+    private static final byte STATE = 2;
+    private static final byte FOOD = 3;
+
+    private byte[] kinds = new byte[64];
+    private ITerrainObject[] objects = new ITerrainObject[64];
+    private long[] values = new long[64];
+    private int size;
+
+    // Saved food lists, referenced by FOOD records as (offset << 32 | count)
+    private Food[] foods = new Food[16];
+    private int foodTop;
+
+    // Record count and state hash at the start of each open move
+    private int[] marks = new int[8];
+    private long[] markHashes = new long[8];
+    private int depth;
+
+    /**
+     * @return true while at least one move is open
+     */
+    boolean isRecording() {
+        return depth > 0;
+    }
+
+    /**
+     * @return Number of moves that can still be undone
+     */
+    int depth() {
+        return depth;
+    }
+
+    /**
+     * Opens a move: the following records belong to it until it is undone.
+     * @param stateHash The terrain's state hash before the move, given back by undo
+     */
+    void begin(long stateHash) {
+        if (depth == marks.length) {
+            marks = Arrays.copyOf(marks, depth * 2);
+            markHashes = Arrays.copyOf(markHashes, depth * 2);
+        }
+        markHashes[depth] = stateHash;
+        marks[depth++] = size;
+    }
+
+    void recordCell(int x, int y, ITerrainObject previous) {
+        add(CELL, previous, TerrainSnapshot.packCoordinates(x, y));
+    }
+
+    void recordCoordinates(ISlidable obj) {
+        add(COORD, obj, TerrainSnapshot.packCoordinates(obj.getX(), obj.getY()));
+    }
+
+    void recordState(ITerrainObject obj) {
+        add(STATE, obj, obj.getStateBits());
+    }
+
+    void recordFoods(Penguin penguin) {
+        int count = penguin.getFoodCount();
+        if (foodTop + count > foods.length) {
+            foods = Arrays.copyOf(foods, Math.max(foods.length * 2, foodTop + count));
+        }
+        penguin.getFoods(foods, foodTop);
+        add(FOOD, penguin, ((long) foodTop << 32) | count);
+        foodTop += count;
+    }
+
+    /**
+     * Reverts every record of the last open move, newest first.
+     * @param grid The grid the CELL records refer to
+     * @return The state hash from before the move
+     * @throws IllegalStateException if no move is open
+     */
+    long undo(TerrainGrid grid) {
+        if (depth == 0) {
+            throw new IllegalStateException("There is no move to undo");
+        }
+        int mark = marks[--depth];
+        while (size > mark) {
+            size--;
+            ITerrainObject obj = objects[size];
+            long value = values[size];
+            switch (kinds[size]) {
+                case CELL:
+                    grid.set(TerrainSnapshot.unpackX(value), TerrainSnapshot.unpackY(value), obj);
+                    break;
+                case COORD: {
+                    ISlidable slidable = (ISlidable) obj;
+                    slidable.setX(TerrainSnapshot.unpackX(value));
+                    slidable.setY(TerrainSnapshot.unpackY(value));
+                    break;
+                }
+                case STATE:
+                    obj.setStateBits((int) value);
+                    break;
+                case FOOD: {
+                    int offset = (int) (value >>> 32);
+                    int count = (int) value;
+                    ((Penguin) obj).setFoods(foods, offset, count);
+                    Arrays.fill(foods, offset, offset + count, null);
+                    foodTop = offset;
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("Corrupt undo record: " + kinds[size]);
+            }
+            objects[size] = null;
+        }
+        return markHashes[depth];
+    }
+
+    private void add(byte kind, ITerrainObject obj, long value) {
+        if (size == kinds.length) {
+            kinds = Arrays.copyOf(kinds, size * 2);
+            objects = Arrays.copyOf(objects, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        kinds[size] = kind;
+        objects[size] = obj;
+        values[size] = value;
+        size++;
+    }
+}
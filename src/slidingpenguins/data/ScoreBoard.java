@@ -3,12 +3,13 @@ package slidingpenguins.data;
 import java.util.Comparator;
 import java.util.List;
 
-import slidingpenguins.objects.food.Food;
 import slidingpenguins.objects.penguins.Penguin;
+import slidingpenguins.util.GameOutput;
 
 /**
  * Utility class for displaying the final game scoreboard.
  * Sorts penguins by total food weight and formats the results.
+ * The scoreboard is printed through GameOutput, like the rest of the narration.
  */
 public class ScoreBoard {
 
@@ -18,8 +19,8 @@ public class ScoreBoard {
      * @param myPenguin The penguin controlled by the user (for marking purposes)
      */
     public void displayScoreBoard(List<Penguin> penguins, Penguin myPenguin) {
-        System.out.println("\n\n***** GAME OVER *****");
-        System.out.println("***** SCOREBOARD FOR THE PENGUINS *****\n");
+        GameOutput.println("\n\n***** GAME OVER *****");
+        GameOutput.println("***** SCOREBOARD FOR THE PENGUINS *****\n");
 
         // Sort penguins by total food weight (descending order)
         penguins.sort(Comparator.comparingInt(Penguin::getTotalFoodWeight).reversed());
@@ -37,27 +38,26 @@ public class ScoreBoard {
             String ownerInfo = (p == myPenguin) ? " (Your Penguin)" : "";
 
             // Example: * 1st place: P2 (Your Penguin)
-            System.out.println("* " + rank + rankSuffix + " place: " + p.getId() + ownerInfo);
+            GameOutput.println("* " + rank + rankSuffix + " place: " + p.getId() + ownerInfo);
 
             // List collected food items: E.g. -> Food items: Kr (3 units), Sq (2 units)
-            System.out.print(" |---> Food items: ");
-            List<Food> foods = p.getCollectedFoods();
-
-            if (foods.isEmpty()) {
-                System.out.println("None");
+            // The items are read in place instead of through the copying getCollectedFoods
+            StringBuilder line = new StringBuilder(" |---> Food items: ");
+            int listStart = line.length();
+            if (p.getFoodCount() == 0) {
+                line.append("None");
             } else {
-                for (int i = 0; i < foods.size(); i++) {
-                    Food f = foods.get(i);
-                    System.out.print(f.getSymbol() + " (" + f.getWeight() + " units)");
-                    if (i < foods.size() - 1) {
-                        System.out.print(", ");
+                p.forEachFood((type, weight) -> {
+                    if (line.length() > listStart) {
+                        line.append(", ");
                     }
-                }
-                System.out.println(); // End of line
+                    line.append(type.getShortName()).append(" (").append(weight).append(" units)");
+                });
             }
+            GameOutput.println(line);
 
             // Print total weight
-            System.out.println(" |---> Total weight: " + p.getTotalFoodWeight() + " units\n");
+            GameOutput.println(" |---> Total weight: " + p.getTotalFoodWeight() + " units\n");
 
             rank++;
         }
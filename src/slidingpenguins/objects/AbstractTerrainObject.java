@@ -1,51 +1,52 @@
 package slidingpenguins.objects;
 
+import slidingpenguins.core.Direction;
+
 /**
  * Base abstract class for all objects on the terrain.
- * Centralizes the coordinate logic (x, y) to prevent code duplication.
+ * Centralizes the kind tag and the encoding of directions into state bits.
  */
 public abstract class AbstractTerrainObject implements ITerrainObject {
 
-    protected int x;
-    protected int y;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final ObjectKind kind;
 
     /**
-     * Default Constructor.
+     * Constructor.
+     * @param kind The concrete kind of the object
      */
-    public AbstractTerrainObject() {
+    protected AbstractTerrainObject(ObjectKind kind) {
+        this.kind = kind;
     }
 
     /**
      * Copy Constructor.
-     * Used by subclasses to copy coordinates safely.
-     * @param other The object to copy coordinates from.
+     * Used by subclasses to copy the kind safely.
+     * @param other The object to copy from.
      */
     public AbstractTerrainObject(AbstractTerrainObject other) {
-        if (other != null) {
-            this.x = other.x;
-            this.y = other.y;
-        }
+        this.kind = other.kind;
     }
 
     @Override
-    public int getX() {
-        return x;
+    public final ObjectKind getKind() {
+        return kind;
     }
 
-    @Override
-    public void setX(int x) {
-        this.x = x;
-    }
+    // getSymbol() is left for concrete classes or interface default.
 
-    @Override
-    public int getY() {
-        return y;
+    /**
+     * Encodes a direction, which may be null, into 3 state bits.
+     */
+    protected static int encodeDirection(Direction direction) {
+        return direction == null ? 0 : direction.ordinal() + 1;
     }
 
-    @Override
-    public void setY(int y) {
-        this.y = y;
+    /**
+     * Decodes a direction written by encodeDirection.
+     */
+    protected static Direction decodeDirection(int code) {
+        return code == 0 ? null : DIRECTIONS[code - 1];
     }
-
-    // getSymbol() is left for concrete classes or interface default.
 }
@@ -9,9 +9,28 @@ import slidingpenguins.core.Direction;
 public interface ISlidable extends ITerrainObject {
 
     /**
-     * Defines the behavior when the object starts sliding.
+     * Gets the X coordinate (column) of the object on the grid.
+     * @return int coordinate
      */
-    void slide();
+    int getX();
+
+    /**
+     * Sets the X coordinate (column) of the object on the grid.
+     * @param x new X coordinate
+     */
+    void setX(int x);
+
+    /**
+     * Gets the Y coordinate (row) of the object on the grid.
+     * @return int coordinate
+     */
+    int getY();
+
+    /**
+     * Sets the Y coordinate (row) of the object on the grid.
+     * @param y new Y coordinate
+     */
+    void setY(int y);
 
     boolean isMoving();
 
@@ -3,37 +3,38 @@ package slidingpenguins.objects;
 /**
  * The base interface for all objects that can be placed on the IcyTerrain.
  * Includes Penguins, Food items, and Hazards.
+ * Only sliding objects know their coordinates (see ISlidable); where a food item
+ * or a fixed hazard lies is known only to the terrain cell holding it.
  */
 public interface ITerrainObject {
-    
-    /**
-     * Gets the X coordinate (column) of the object on the grid.
-     * @return int coordinate
-     */
-    int getX();
 
     /**
-     * Sets the X coordinate (column) of the object on the grid.
-     * @param x new X coordinate
+     * Returns the string symbol to be displayed on the grid (e.g., "P1", "HB").
+     * Essential for the GridRenderer
+     * @return String representation
      */
-    void setX(int x);
+    String getSymbol();
 
     /**
-     * Gets the Y coordinate (row) of the object on the grid.
-     * @return int coordinate
+     * Returns the concrete kind of the object, which never changes.
+     * @return The kind tag
      */
-    int getY();
+    ObjectKind getKind();
 
     /**
-     * Sets the Y coordinate (row) of the object on the grid.
-     * @param y new Y coordinate
+     * Returns the mutable state of the object (flags, direction, ...) packed into
+     * an int, excluding its coordinates. Used by terrain snapshots.
+     * Objects without such state return 0.
+     * @return Packed state bits
      */
-    void setY(int y);
+    default int getStateBits() {
+        return 0;
+    }
 
     /**
-     * Returns the string symbol to be displayed on the grid (e.g., "P1", "HB").
-     * Essential for the GridRenderer
-     * @return String representation
+     * Restores state bits returned by getStateBits.
+     * @param bits Packed state bits
      */
-    String getSymbol();
+    default void setStateBits(int bits) {
+    }
 }
@@ -0,0 +1,54 @@
+package slidingpenguins.objects;
+
+/**
+ * Concrete kind of a terrain object, carried by every object (see ITerrainObject.getKind).
+ * Code that depends on the kind of an object switches on it or indexes tables by its
+ * ordinal instead of testing the classes one after the other.
+ */
+public enum ObjectKind {
+    KING_PENGUIN(true, false, true),
+    EMPEROR_PENGUIN(true, false, true),
+    ROYAL_PENGUIN(true, false, true),
+    ROCKHOPPER_PENGUIN(true, false, true),
+    FOOD(false, false, false),
+    HEAVY_ICE_BLOCK(false, true, false),
+    LIGHT_ICE_BLOCK(false, true, true),
+    SEA_LION(false, true, true),
+    HOLE_IN_ICE(false, true, false);
+
+    /**
+     * Number of kinds, for tables indexed by ordinal.
+     */
+    public static final int COUNT = values().length;
+
+    private final boolean penguin;
+    private final boolean hazard;
+    private final boolean slidable;
+
+    ObjectKind(boolean penguin, boolean hazard, boolean slidable) {
+        this.penguin = penguin;
+        this.hazard = hazard;
+        this.slidable = slidable;
+    }
+
+    /**
+     * @return true for the kinds of Penguin
+     */
+    public boolean isPenguin() {
+        return penguin;
+    }
+
+    /**
+     * @return true for the kinds of Hazard
+     */
+    public boolean isHazard() {
+        return hazard;
+    }
+
+    /**
+     * @return true for the kinds of ISlidable
+     */
+    public boolean isSlidable() {
+        return slidable;
+    }
+}
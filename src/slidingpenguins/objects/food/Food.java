@@ -1,37 +1,57 @@
 package slidingpenguins.objects.food;
 
-import slidingpenguins.objects.AbstractTerrainObject;
+import slidingpenguins.objects.ITerrainObject;
+import slidingpenguins.objects.ObjectKind;
 
 /**
  * Represents a food item on the icy terrain.
  * Each food has a specific type and a weight.
+ *
+ * A food item is fully defined by these two, so there is one shared, immutable
+ * instance per combination (see of). The same instance may lie on many cells and
+ * be carried by many penguins; where a food item lies is known only to the terrain
+ * cell holding it, so a food item has no coordinates of its own.
  */
-public class Food extends AbstractTerrainObject {
+public final class Food implements ITerrainObject {
+
+    public static final int MIN_WEIGHT = 1;
+    public static final int MAX_WEIGHT = 5;
+
+    private static final int WEIGHTS = MAX_WEIGHT - MIN_WEIGHT + 1;
+    private static final Food[] INSTANCES = new Food[FoodType.values().length * WEIGHTS];
+
+    static {
+        for (FoodType type : FoodType.values()) {
+            for (int weight = MIN_WEIGHT; weight <= MAX_WEIGHT; weight++) {
+                INSTANCES[indexOf(type, weight)] = new Food(type, weight);
+            }
+        }
+    }
 
     private final int weight;
     private final FoodType type;
 
-    /**
-     * Constructor for Food.
-     * Creates a food item with the specified type and weight.
-     * @param type The type of the food (e.g., KRILL, SQUID)
-     * @param weight The weight of the food (typically 1-5 units)
-     */
-    public Food(FoodType type, int weight) {
-        super();
+    private Food(FoodType type, int weight) {
         this.type = type;
         this.weight = weight;
     }
 
     /**
-     * Copy Constructor: Creates a new Food object as a deep copy of another.
-     * This is essential for preventing privacy leaks when returning lists.
-     * @param other The food object to copy.
+     * Returns the food item of the given type and weight.
+     * @param type The type of the food (e.g., KRILL, SQUID)
+     * @param weight The weight of the food (1-5 units)
+     * @return The shared instance
+     * @throws IllegalArgumentException if the weight is out of range
      */
-    public Food(Food other) {
-        super(other); // Copies x and y from the abstract parent
-        this.type = other.getType();
-        this.weight = other.getWeight();
+    public static Food of(FoodType type, int weight) {
+        if (weight < MIN_WEIGHT || weight > MAX_WEIGHT) {
+            throw new IllegalArgumentException("Food weight must be within " + MIN_WEIGHT + "-" + MAX_WEIGHT + ": " + weight);
+        }
+        return INSTANCES[indexOf(type, weight)];
+    }
+
+    private static int indexOf(FoodType type, int weight) {
+        return type.ordinal() * WEIGHTS + weight - MIN_WEIGHT;
     }
 
     public int getWeight() {
@@ -42,6 +62,11 @@ public class Food extends AbstractTerrainObject {
         return type;
     }
 
+    @Override
+    public ObjectKind getKind() {
+        return ObjectKind.FOOD;
+    }
+
     @Override
     public String getSymbol() {
         return type.getShortName();
@@ -0,0 +1,16 @@
+package slidingpenguins.objects.food;
+
+/**
+ * Receives the food items carried by a penguin, one at a time (see Penguin.forEachFood).
+ * Only the type and the weight are passed, so the visitor can read the items
+ * without being able to change them and without any of them being copied.
+ */
+@FunctionalInterface
+public interface FoodVisitor {
+
+    /**
+     * @param type The type of the food item
+     * @param weight The weight of the food item
+     */
+    void visit(FoodType type, int weight);
+}
@@ -0,0 +1,15 @@
+package slidingpenguins.objects.hazards;
+
+import slidingpenguins.objects.ObjectKind;
+
+/**
+ * Base class of the hazards that never move (HeavyIceBlock, HoleInIce).
+ * They are shared, immutable instances: where one lies is known only to the
+ * terrain cell holding it, so a fixed hazard has no coordinates of its own.
+ */
+public abstract class FixedHazard extends Hazard {
+
+    protected FixedHazard(ObjectKind kind) {
+        super(kind);
+    }
+}
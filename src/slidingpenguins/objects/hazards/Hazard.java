@@ -2,19 +2,19 @@ package slidingpenguins.objects.hazards;
 
 import slidingpenguins.objects.AbstractTerrainObject;
 import slidingpenguins.objects.ITerrainObject;
+import slidingpenguins.objects.ObjectKind;
 
 /**
  * Abstract base class for all hazards on the terrain.
- * Extends AbstractTerrainObject to inherit coordinates.
+ * Fixed hazards (see FixedHazard) are shared and have no coordinates;
+ * sliding hazards (see SlidingHazard) carry their own.
  */
 public abstract class Hazard extends AbstractTerrainObject implements IHazard {
 
-    public Hazard() {
-        super();
+    protected Hazard(ObjectKind kind) {
+        super(kind);
     }
 
-    // x and y are handled by AbstractTerrainObject.
-
     @Override
     public abstract String getSymbol();
 
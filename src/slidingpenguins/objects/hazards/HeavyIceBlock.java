@@ -2,19 +2,27 @@ package slidingpenguins.objects.hazards;
 
 import slidingpenguins.objects.penguins.Penguin;
 import slidingpenguins.objects.ITerrainObject;
+import slidingpenguins.objects.ObjectKind;
 
 /**
  * Heavy ice block.
  * It does not move.
  * When a penguin hits it, the penguin loses the lightest food.
+ * The block has no state, so every cell holding one shares the same instance.
  */
-public class HeavyIceBlock extends Hazard {
+public final class HeavyIceBlock extends FixedHazard {
+
+    private static final HeavyIceBlock INSTANCE = new HeavyIceBlock();
+
+    private HeavyIceBlock() {
+        super(ObjectKind.HEAVY_ICE_BLOCK);
+    }
 
     /**
-     * This block cannot slide, so we pass false.
+     * @return The shared heavy ice block
      */
-    public HeavyIceBlock() {
-        super();
+    public static HeavyIceBlock instance() {
+        return INSTANCE;
     }
 
     /**
@@ -35,7 +43,7 @@ public class HeavyIceBlock extends Hazard {
         }
 
         // only penguin has a special rule here
-        if (incomer instanceof Penguin) {
+        if (incomer.getKind().isPenguin()) {
             Penguin p = (Penguin) incomer;
             p.dropLightestFood();
         }
@@ -1,21 +1,42 @@
 package slidingpenguins.objects.hazards;
 
 import slidingpenguins.objects.ITerrainObject;
-import slidingpenguins.objects.ISlidable;
+import slidingpenguins.objects.ObjectKind;
 import slidingpenguins.objects.penguins.Penguin;
 
 /**
  * Represents a hole in the ice.
  * Penguins and sliding hazards can fall into it.
  * Sliding hazards (LightIceBlock, SeaLion) plug the hole.
+ *
+ * There are two shared instances, the open and the plugged hole. A hole is
+ * plugged by putting the plugged instance on its cell (the terrain does this),
+ * so the plug state belongs to the cell like everything else about the hole.
  */
-public class HoleInIce extends Hazard {
+public final class HoleInIce extends FixedHazard {
 
-    private boolean plugged;
+    private static final HoleInIce OPEN = new HoleInIce(false);
+    private static final HoleInIce PLUGGED = new HoleInIce(true);
 
-    public HoleInIce() {
-        super();
-        this.plugged = false;
+    private final boolean plugged;
+
+    private HoleInIce(boolean plugged) {
+        super(ObjectKind.HOLE_IN_ICE);
+        this.plugged = plugged;
+    }
+
+    /**
+     * @return The shared open hole
+     */
+    public static HoleInIce open() {
+        return OPEN;
+    }
+
+    /**
+     * @return The shared plugged hole
+     */
+    public static HoleInIce plugged() {
+        return PLUGGED;
     }
 
     @Override
@@ -29,12 +50,9 @@ public class HoleInIce extends Hazard {
     }
 
     /**
-     * Plugs the hole when a sliding object (like LightIceBlock or SeaLion) falls into it.
+     * A penguin falls into an open hole. A sliding hazard falling into it plugs
+     * it, which the terrain does by replacing this hole with the plugged one.
      */
-    public void plug() {
-        this.plugged = true;
-    }
-
     @Override
     public void onCollision(ITerrainObject incomer) {
         // If the hole is plugged or the incomer is null, it acts like a safe square.
@@ -42,16 +60,11 @@ public class HoleInIce extends Hazard {
             return;
         }
 
-        // Case 1: A Penguin falls into the hole.
-        if (incomer instanceof Penguin) {
+        // A Penguin falls into the hole.
+        if (incomer.getKind().isPenguin()) {
             Penguin p = (Penguin) incomer;
             // The penguin falls into water and is removed from the game.
             p.fallIntoWater();
         }
-        // Case 2: A sliding hazard (LightIceBlock or SeaLion) falls into the hole.
-        else if (incomer instanceof ISlidable) {
-            // The sliding object plugs the hole and disappears (Terrain logic will not re-place it).
-            this.plug();
-        }
     }
 }
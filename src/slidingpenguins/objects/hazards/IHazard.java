@@ -4,8 +4,7 @@ import slidingpenguins.objects.ITerrainObject;
 
 /**
  * Interface representing a Hazard on the terrain.
- * All hazards must implement collision behavior and inherit
- * from ITerrainObject for position tracking.
+ * All hazards must implement collision behavior.
  */
 public interface IHazard extends ITerrainObject {
     /**
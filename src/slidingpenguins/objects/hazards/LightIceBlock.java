@@ -1,6 +1,7 @@
 package slidingpenguins.objects.hazards;
 
 import slidingpenguins.objects.ITerrainObject;
+import slidingpenguins.objects.ObjectKind;
 import slidingpenguins.objects.ISlidable;
 import slidingpenguins.objects.penguins.Penguin;
 import slidingpenguins.core.Direction;
@@ -10,15 +11,10 @@ import slidingpenguins.core.Direction;
  * It can move on ice.
  * It stuns a penguin that hits it.
  */
-public class LightIceBlock extends Hazard implements ISlidable {
-
-    private boolean sliding;
-    private Direction direction;
+public class LightIceBlock extends SlidingHazard {
 
     public LightIceBlock() {
-        super();
-        this.sliding = false;
-        this.direction = null;
+        super(ObjectKind.LIGHT_ICE_BLOCK);
     }
 
     @Override
@@ -26,36 +22,6 @@ public class LightIceBlock extends Hazard implements ISlidable {
         return "LB";
     }
 
-    // --- ISlidable methods ---
-
-    @Override
-    public void slide() {
-        System.out.println("LightIceBlock is sliding " + (direction != null ? direction : "") + "...");
-    }
-
-    @Override
-    public boolean isMoving() {
-        return sliding;
-    }
-
-    @Override
-    public void setMoving(boolean moving) {
-        this.sliding = moving;
-        if (!moving) {
-            this.direction = null;
-        }
-    }
-
-    @Override
-    public Direction getDirection() {
-        return direction;
-    }
-
-    @Override
-    public void setDirection(Direction dir) {
-        this.direction = dir;
-    }
-
     // --- Collision logic ---
 
     @Override
@@ -63,7 +29,7 @@ public class LightIceBlock extends Hazard implements ISlidable {
         if (incomer == null) return;
 
         // Case 1: penguin hits this block
-        if (incomer instanceof Penguin) {
+        if (incomer.getKind().isPenguin()) {
             Penguin p = (Penguin) incomer;
             p.stun(); // Penguin class must have stun() method
 
@@ -73,7 +39,7 @@ public class LightIceBlock extends Hazard implements ISlidable {
             }
         }
         // Case 2: another sliding object hits this block
-        else if (incomer instanceof ISlidable) {
+        else if (incomer.getKind().isSlidable()) {
             ISlidable slider = (ISlidable) incomer;
             if (slider.isMoving()) {
                 startSliding(slider.getDirection());
@@ -84,8 +50,7 @@ public class LightIceBlock extends Hazard implements ISlidable {
 
     public void startSliding(Direction dir) {
         if (dir == null) return;
-        this.direction = dir;
-        this.sliding = true;
-        slide(); // We can call slide method as a trigger
+        setDirection(dir);
+        setMoving(true);
     }
 }
@@ -1,7 +1,7 @@
 package slidingpenguins.objects.hazards;
 
 import slidingpenguins.objects.ITerrainObject;
-import slidingpenguins.objects.ISlidable;
+import slidingpenguins.objects.ObjectKind;
 import slidingpenguins.objects.penguins.Penguin;
 import slidingpenguins.core.Direction;
 
@@ -9,15 +9,10 @@ import slidingpenguins.core.Direction;
  * Sea lion hazard.
  * It can slide on ice and has special bounce rules.
  */
-public class SeaLion extends Hazard implements ISlidable {
-
-    private boolean sliding;
-    private Direction direction;
+public class SeaLion extends SlidingHazard {
 
     public SeaLion() {
-        super();
-        this.sliding = false;
-        this.direction = null;
+        super(ObjectKind.SEA_LION);
     }
 
     @Override
@@ -25,36 +20,6 @@ public class SeaLion extends Hazard implements ISlidable {
         return "SL";
     }
 
-    // --- ISlidable methods ---
-
-    @Override
-    public void slide() {
-        System.out.println("SeaLion is sliding " + (direction != null ? direction : "") + "...");
-    }
-
-    @Override
-    public boolean isMoving() {
-        return sliding;
-    }
-
-    @Override
-    public void setMoving(boolean moving) {
-        this.sliding = moving;
-        if (!moving) {
-            this.direction = null;
-        }
-    }
-
-    @Override
-    public Direction getDirection() {
-        return direction;
-    }
-
-    @Override
-    public void setDirection(Direction dir) {
-        this.direction = dir;
-    }
-
     // --- Collision logic ---
 
     @Override
@@ -62,7 +27,7 @@ public class SeaLion extends Hazard implements ISlidable {
         if (incomer == null) return;
 
         // Case 1: penguin hits the sea lion
-        if (incomer instanceof Penguin) {
+        if (incomer.getKind().isPenguin()) {
             Penguin p = (Penguin) incomer;
             Direction penguinDir = p.getDirection();
 
@@ -77,7 +42,7 @@ public class SeaLion extends Hazard implements ISlidable {
             }
         }
         // Case 2: light ice block hits the sea lion
-        else if (incomer instanceof LightIceBlock) {
+        else if (incomer.getKind() == ObjectKind.LIGHT_ICE_BLOCK) {
             LightIceBlock block = (LightIceBlock) incomer;
             Direction blockDir = block.getDirection();
 
@@ -0,0 +1,82 @@
+package slidingpenguins.objects.hazards;
+
+import slidingpenguins.objects.ISlidable;
+import slidingpenguins.objects.ObjectKind;
+import slidingpenguins.core.Direction;
+
+/**
+ * Base class of the hazards that can slide (LightIceBlock, SeaLion).
+ * Each one is a separate instance keeping its coordinates and sliding state.
+ */
+public abstract class SlidingHazard extends Hazard implements ISlidable {
+
+    private int x;
+    private int y;
+    private boolean sliding;
+    private Direction direction;
+
+    protected SlidingHazard(ObjectKind kind) {
+        super(kind);
+        this.sliding = false;
+        this.direction = null;
+    }
+
+    @Override
+    public int getX() {
+        return x;
+    }
+
+    @Override
+    public void setX(int x) {
+        this.x = x;
+    }
+
+    @Override
+    public int getY() {
+        return y;
+    }
+
+    @Override
+    public void setY(int y) {
+        this.y = y;
+    }
+
+    // --- ISlidable methods ---
+
+    @Override
+    public boolean isMoving() {
+        return sliding;
+    }
+
+    @Override
+    public void setMoving(boolean moving) {
+        this.sliding = moving;
+        if (!moving) {
+            this.direction = null;
+        }
+    }
+
+    @Override
+    public Direction getDirection() {
+        return direction;
+    }
+
+    @Override
+    public void setDirection(Direction dir) {
+        this.direction = dir;
+    }
+
+    /**
+     * Bit 0: sliding, bits 1-3: direction.
+     */
+    @Override
+    public int getStateBits() {
+        return (sliding ? 1 : 0) | encodeDirection(direction) << 1;
+    }
+
+    @Override
+    public void setStateBits(int bits) {
+        this.sliding = (bits & 1) != 0;
+        this.direction = decodeDirection((bits >>> 1) & 7);
+    }
+}
@@ -0,0 +1,224 @@
+package slidingpenguins.objects.penguins;
+
+import java.util.Arrays;
+
+import slidingpenguins.objects.food.Food;
+import slidingpenguins.objects.food.FoodVisitor;
+
+/**
+ * The food carried by a penguin, kept in one FIFO bucket per weight plus a running total.
+ *
+ * The total weight, the lightest item and its removal take constant time. Every item
+ * gets a sequence number when it is added, so the pickup order is only rebuilt, by
+ * merging the buckets, when the items are listed.
+ */
+final class FoodStomach {
+
+    private static final int BUCKETS = Food.MAX_WEIGHT - Food.MIN_WEIGHT + 1;
+
+    private final Bucket[] buckets = new Bucket[BUCKETS];
+    private int occupied; // bit i is set while buckets[i] is not empty
+    private int count;
+    private int totalWeight;
+    private long nextSequence;
+
+    // Merge positions in the buckets while the items are listed; a nested listing allocates its own
+    private final int[] cursors = new int[BUCKETS];
+    private boolean listing;
+
+    FoodStomach() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    /**
+     * Adds an item after all items carried so far.
+     */
+    void add(Food food) {
+        int i = food.getWeight() - Food.MIN_WEIGHT;
+        buckets[i].add(food, nextSequence++);
+        occupied |= 1 << i;
+        count++;
+        totalWeight += food.getWeight();
+    }
+
+    /**
+     * @return The first picked item of the lowest weight, or null if nothing is carried
+     */
+    Food lightest() {
+        if (occupied == 0) return null;
+        return buckets[Integer.numberOfTrailingZeros(occupied)].first();
+    }
+
+    /**
+     * Removes the item lightest() returns.
+     * @return The removed item, or null if nothing is carried
+     */
+    Food removeLightest() {
+        if (occupied == 0) return null;
+        int i = Integer.numberOfTrailingZeros(occupied);
+        Bucket bucket = buckets[i];
+        Food food = bucket.removeFirst();
+        if (bucket.size == 0) occupied &= ~(1 << i);
+        count--;
+        totalWeight -= food.getWeight();
+        return food;
+    }
+
+    int size() {
+        return count;
+    }
+
+    int totalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * Copies the items in pickup order into an array.
+     * @param dest Destination array with room for size() items
+     * @param offset First index written
+     */
+    void copyTo(Food[] dest, int offset) {
+        if (Integer.bitCount(occupied) == 1) {
+            // A single weight: the bucket is already in pickup order
+            buckets[Integer.numberOfTrailingZeros(occupied)].copyTo(dest, offset);
+            return;
+        }
+        int[] positions = startListing();
+        try {
+            for (int n = 0; n < count; n++) {
+                int next = nextBucket(positions);
+                dest[offset + n] = buckets[next].get(positions[next]++);
+            }
+        } finally {
+            stopListing(positions);
+        }
+    }
+
+    /**
+     * Passes the type and weight of every item, in pickup order, to a visitor.
+     * Allocates nothing unless the visitor lists this stomach again.
+     */
+    void forEach(FoodVisitor visitor) {
+        int[] positions = startListing();
+        try {
+            for (int n = 0; n < count; n++) {
+                int next = nextBucket(positions);
+                Food food = buckets[next].get(positions[next]++);
+                visitor.visit(food.getType(), food.getWeight());
+            }
+        } finally {
+            stopListing(positions);
+        }
+    }
+
+    private int[] startListing() {
+        if (listing) return new int[BUCKETS];
+        listing = true;
+        return cursors;
+    }
+
+    private void stopListing(int[] positions) {
+        if (positions != cursors) return;
+        Arrays.fill(cursors, 0);
+        listing = false;
+    }
+
+    /**
+     * @return Index of the bucket whose next unlisted item was picked up first
+     */
+    private int nextBucket(int[] positions) {
+        int next = -1;
+        long nextSeq = Long.MAX_VALUE;
+        for (int i = 0; i < BUCKETS; i++) {
+            Bucket bucket = buckets[i];
+            if (positions[i] < bucket.size && bucket.sequence(positions[i]) < nextSeq) {
+                nextSeq = bucket.sequence(positions[i]);
+                next = i;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Removes all items and restarts the sequence numbers.
+     */
+    void clear() {
+        for (Bucket bucket : buckets) {
+            bucket.clear();
+        }
+        occupied = 0;
+        count = 0;
+        totalWeight = 0;
+        nextSequence = 0;
+    }
+
+    /**
+     * Ring of the items of one weight, oldest first, with their sequence numbers.
+     */
+    private static final class Bucket {
+
+        private Food[] items = new Food[4];
+        private long[] sequences = new long[4];
+        private int head;
+        private int size;
+
+        void add(Food food, long sequence) {
+            if (size == items.length) grow();
+            int slot = (head + size) & (items.length - 1);
+            items[slot] = food;
+            sequences[slot] = sequence;
+            size++;
+        }
+
+        Food first() {
+            return items[head];
+        }
+
+        Food removeFirst() {
+            Food food = items[head];
+            items[head] = null;
+            head = (head + 1) & (items.length - 1);
+            size--;
+            return food;
+        }
+
+        Food get(int index) {
+            return items[(head + index) & (items.length - 1)];
+        }
+
+        long sequence(int index) {
+            return sequences[(head + index) & (items.length - 1)];
+        }
+
+        void copyTo(Food[] dest, int offset) {
+            int first = Math.min(size, items.length - head);
+            System.arraycopy(items, head, dest, offset, first);
+            System.arraycopy(items, 0, dest, offset + first, size - first);
+        }
+
+        void clear() {
+            for (int i = 0; i < size; i++) {
+                items[(head + i) & (items.length - 1)] = null;
+            }
+            head = 0;
+            size = 0;
+        }
+
+        /**
+         * Doubles the ring, moving the items to its start.
+         */
+        private void grow() {
+            Food[] newItems = new Food[items.length * 2];
+            long[] newSequences = new long[newItems.length];
+            copyTo(newItems, 0);
+            int first = items.length - head;
+            System.arraycopy(sequences, head, newSequences, 0, first);
+            System.arraycopy(sequences, 0, newSequences, first, head);
+            items = newItems;
+            sequences = newSequences;
+            head = 0;
+        }
+    }
+}
@@ -1,58 +1,118 @@
 package slidingpenguins.objects.penguins;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import slidingpenguins.objects.AbstractTerrainObject;
 import slidingpenguins.objects.ISlidable;
+import slidingpenguins.objects.ObjectKind;
 import slidingpenguins.objects.food.Food;
+import slidingpenguins.objects.food.FoodVisitor;
 import slidingpenguins.core.Direction;
 
 public abstract class Penguin extends AbstractTerrainObject implements ISlidable {
 
     protected String id;
-    protected List<Food> collectedFoods;
+    // Carried food, bucketed by weight (see FoodStomach); null until the first item is picked up
+    private FoodStomach stomach;
 
-    // Status flags
-    protected boolean isEliminated;
-    protected boolean isStunned;
-    protected Direction currentDirection;
-    protected boolean moving;
-    protected boolean abilityUsed;
+    // Number of state bits used by Penguin itself (see getStateBits)
+    protected static final int STATE_BITS_USED = 7;
 
-    public Penguin(String id) {
-        super();
+    // Status flags in the state bits
+    static final int ELIMINATED = 1;
+    static final int STUNNED = 2;
+    private static final int MOVING = 4;
+    private static final int ABILITY_USED = 8;
+    private static final int DIRECTION_SHIFT = 4;
+
+    // Coordinates, state bits and total food weight live in a slot of a store (see PenguinStore).
+    // A new penguin reads the shared empty DETACHED store until it is added to a store
+    // or its state is first written, which gives it a single-slot store of its own.
+    PenguinStore store = PenguinStore.DETACHED;
+    int slot;
+
+    protected Penguin(String id, ObjectKind kind) {
+        super(kind);
         this.id = id;
-        this.collectedFoods = new ArrayList<>();
-        this.isEliminated = false;
-        this.isStunned = false;
-        this.moving = false;
-        this.abilityUsed = false;
     }
 
     /**
      * Copy Constructor for Penguin.
      * Useful if we need to clone a penguin state.
+     * The copy gets a store of its own.
      */
     public Penguin(Penguin other) {
-        super(other); // Copies x and y
+        super(other);
         this.id = other.id;
-        this.isEliminated = other.isEliminated;
-        this.isStunned = other.isStunned;
-        this.abilityUsed = other.abilityUsed;
-
-        // Deep copy of the food list
-        this.collectedFoods = new ArrayList<>();
-        for (Food f : other.collectedFoods) {
-            this.collectedFoods.add(new Food(f));
+        setX(other.getX());
+        setY(other.getY());
+        setStateBits(other.getStateBits() & (ELIMINATED | STUNNED | ABILITY_USED));
+
+        // Food items are immutable and shared, so the copy carries the same ones in pickup order
+        Food[] foods = new Food[other.getFoodCount()];
+        other.getFoods(foods, 0);
+        setFoods(foods, 0, foods.length);
+    }
+
+    /**
+     * Points this handle at its slot in a store; see PenguinStore.add and arrange.
+     */
+    void attach(PenguinStore store, int slot) {
+        this.store = store;
+        this.slot = slot;
+    }
+
+    /**
+     * @return The store to write the state of this penguin to, never the DETACHED one
+     */
+    private PenguinStore writableStore() {
+        if (store == PenguinStore.DETACHED) {
+            attach(PenguinStore.of(this), 0);
         }
+        return store;
+    }
+
+    /**
+     * @return The store holding the state of this penguin
+     */
+    public PenguinStore getStore() {
+        return store;
     }
 
+    /**
+     * @return The slot of this penguin in its store
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    protected boolean hasFlag(int flag) {
+        return (store.getStateBits(slot) & flag) != 0;
+    }
+
+    protected void setFlag(int flag, boolean value) {
+        int bits = store.getStateBits(slot);
+        writableStore().setStateBits(slot, value ? bits | flag : bits & ~flag);
+    }
+
+    @Override
+    public int getX() { return store.getX(slot); }
+    @Override
+    public void setX(int x) { writableStore().setX(slot, x); }
+    @Override
+    public int getY() { return store.getY(slot); }
+    @Override
+    public void setY(int y) { writableStore().setY(slot, y); }
+
     /**
      * Adds a food item to the penguin's collection.
      * @param food The food item to add
      */
     public void addFood(Food food) {
-        collectedFoods.add(food);
+        if (stomach == null) stomach = new FoodStomach();
+        stomach.add(food);
+        writableStore().setTotalFoodWeight(slot, stomach.totalWeight());
     }
 
     /**
@@ -60,41 +120,45 @@ public abstract class Penguin extends AbstractTerrainObject implements ISlidable
      * Called when hitting a HeavyIceBlock. Does nothing if no food is carried.
      */
     public void dropLightestFood() {
-        if (collectedFoods.isEmpty()) return;
+        if (stomach == null) return;
+        stomach.removeLightest();
+        writableStore().setTotalFoodWeight(slot, stomach.totalWeight());
+    }
 
-        Food lightest = collectedFoods.get(0);
-        for (Food f : collectedFoods) {
-            if (f.getWeight() < lightest.getWeight()) {
-                lightest = f;
-            }
-        }
-        collectedFoods.remove(lightest);
-        System.out.println(id + " lost the lightest food item: " + lightest.getType());
+    /**
+     * Returns the food item dropLightestFood would remove: the first one of the lowest weight.
+     * @return The lightest food item, or null if no food is carried
+     */
+    public Food getLightestFood() {
+        return stomach == null ? null : stomach.lightest();
     }
 
     /**
-     * Calculates the total weight of all collected food.
+     * Returns the total weight of all collected food, kept up to date as food is added and dropped.
      * @return The sum of all food weights
      */
     public int getTotalFoodWeight() {
-        int total = 0;
-        for (Food f : collectedFoods) {
-            total += f.getWeight();
-        }
-        return total;
+        return store.getTotalFoodWeight(slot);
     }
 
     /**
-     * Returns a DEEP COPY of the collected foods list.
+     * Returns a new list of the collected foods, in pickup order.
      * This prevents privacy leaks; external classes cannot modify the penguin's actual stomach.
+     * The items themselves are immutable and shared, so they are not copied.
      */
     public List<Food> getCollectedFoods() {
-        List<Food> copyList = new ArrayList<>();
-        for (Food f : this.collectedFoods) {
-            // Use the copy constructor of Food
-            copyList.add(new Food(f));
-        }
-        return copyList;
+        Food[] foods = new Food[getFoodCount()];
+        getFoods(foods, 0);
+        return new ArrayList<>(Arrays.asList(foods));
+    }
+
+    /**
+     * Passes the type and weight of every carried food item, in pickup order, to a visitor.
+     * A read-only view of the stomach that, unlike getCollectedFoods, copies nothing.
+     * @param visitor Receives the items
+     */
+    public void forEachFood(FoodVisitor visitor) {
+        if (stomach != null) stomach.forEach(visitor);
     }
 
     /**
@@ -102,8 +166,7 @@ public abstract class Penguin extends AbstractTerrainObject implements ISlidable
      * Called when colliding with a LightIceBlock.
      */
     public void stun() {
-        this.isStunned = true;
-        System.out.println(id + " is stunned via LightIceBlock!");
+        setFlag(STUNNED, true);
     }
 
     /**
@@ -111,8 +174,7 @@ public abstract class Penguin extends AbstractTerrainObject implements ISlidable
      * Called when falling into water or a HoleInIce.
      */
     public void fallIntoWater() {
-        this.isEliminated = true;
-        System.out.println(id + " fell into the water!");
+        setFlag(ELIMINATED, true);
     }
 
     /**
@@ -120,7 +182,7 @@ public abstract class Penguin extends AbstractTerrainObject implements ISlidable
      * @return true if ability has been used, false otherwise
      */
     public boolean hasUsedAbility() {
-        return abilityUsed;
+        return hasFlag(ABILITY_USED);
     }
 
     /**
@@ -128,31 +190,80 @@ public abstract class Penguin extends AbstractTerrainObject implements ISlidable
      * Called by subclasses when activating their ability.
      */
     protected void markAbilityUsed() {
-        this.abilityUsed = true;
+        setFlag(ABILITY_USED, true);
     }
 
     // Getters and Setters
     public String getId() { return id; }
-    public boolean isEliminated() { return isEliminated; }
-    public boolean isStunned() { return isStunned; }
-    public void setStunned(boolean stunned) { this.isStunned = stunned; }
+    public boolean isEliminated() { return hasFlag(ELIMINATED); }
+    public boolean isStunned() { return hasFlag(STUNNED); }
+    public void setStunned(boolean stunned) { setFlag(STUNNED, stunned); }
 
     @Override
-    public void setDirection(Direction direction) { this.currentDirection = direction; }
+    public void setDirection(Direction direction) {
+        int bits = store.getStateBits(slot) & ~(7 << DIRECTION_SHIFT);
+        writableStore().setStateBits(slot, bits | encodeDirection(direction) << DIRECTION_SHIFT);
+    }
     @Override
-    public Direction getDirection() { return currentDirection; }
+    public Direction getDirection() { return decodeDirection((store.getStateBits(slot) >>> DIRECTION_SHIFT) & 7); }
     @Override
-    public boolean isMoving() { return moving; }
+    public boolean isMoving() { return hasFlag(MOVING); }
     @Override
-    public void setMoving(boolean moving) { this.moving = moving; }
+    public void setMoving(boolean moving) { setFlag(MOVING, moving); }
 
     @Override
-    public void slide() {
-        System.out.println(id + " is sliding...");
+    public String getSymbol() { return id; }
+
+    /**
+     * Bits 0-3: eliminated, stunned, moving, ability used; bits 4-6: direction.
+     * Subclasses with more state use the bits above STATE_BITS_USED (see setFlag).
+     * The bits are kept as they are in the penguin's store slot.
+     * The carried food is not part of the state bits.
+     */
+    @Override
+    public int getStateBits() {
+        return store.getStateBits(slot);
     }
 
     @Override
-    public String getSymbol() { return id; }
+    public void setStateBits(int bits) {
+        writableStore().setStateBits(slot, bits);
+    }
+
+    /**
+     * @return Number of food items carried
+     */
+    public int getFoodCount() {
+        return stomach == null ? 0 : stomach.size();
+    }
+
+    /**
+     * Copies the references of the carried food, in pickup order, into an array.
+     * Unlike getCollectedFoods no list is created, so snapshots can save and restore the items without allocating.
+     * @param dest Destination array with room for getFoodCount() items
+     * @param offset First index written
+     */
+    public void getFoods(Food[] dest, int offset) {
+        if (stomach != null) stomach.copyTo(dest, offset);
+    }
+
+    /**
+     * Replaces the carried food with items previously read by getFoods.
+     * @param src Source array
+     * @param offset First index read
+     * @param count Number of items
+     */
+    public void setFoods(Food[] src, int offset, int count) {
+        if (stomach == null) {
+            if (count == 0) return;
+            stomach = new FoodStomach();
+        }
+        stomach.clear();
+        for (int i = 0; i < count; i++) {
+            stomach.add(src[offset + i]);
+        }
+        writableStore().setTotalFoodWeight(slot, stomach.totalWeight());
+    }
 
     public abstract void useSpecialAbility();
 }
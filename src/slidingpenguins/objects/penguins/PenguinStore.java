@@ -0,0 +1,170 @@
+package slidingpenguins.objects.penguins;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Struct-of-arrays storage of the state of many penguins: coordinates, state bits
+ * (see Penguin.getStateBits) and total food weight live in parallel int arrays,
+ * one slot per penguin, and a Penguin is a handle that reads and writes its slot.
+ * Loops over the whole population, like skipping the eliminated penguins of a turn
+ * or summing up the scores, walk these arrays instead of visiting every object.
+ *
+ * A new penguin reads the empty DETACHED store until it is added to a shared one;
+ * if its state is written before that, it gets a single-slot store of its own.
+ * The carried food items themselves stay with the penguin; only their total
+ * weight is kept here.
+ */
+public final class PenguinStore {
+
+    /**
+     * The store of the penguins that are in no store yet. It is never written,
+     * so every slot 0 read from it is the initial state of a penguin.
+     */
+    static final PenguinStore DETACHED = new PenguinStore(1, false);
+
+    private final boolean shared;
+    private Penguin[] handles;
+    private int[] xs;
+    private int[] ys;
+    private int[] states;
+    private int[] foodWeights;
+    private int size;
+
+    /**
+     * Creates an empty store.
+     * @param capacity Number of penguins expected; the store grows beyond it if needed
+     */
+    public PenguinStore(int capacity) {
+        this(Math.max(capacity, 1), true);
+    }
+
+    private PenguinStore(int capacity, boolean shared) {
+        this.shared = shared;
+        this.handles = new Penguin[capacity];
+        this.xs = new int[capacity];
+        this.ys = new int[capacity];
+        this.states = new int[capacity];
+        this.foodWeights = new int[capacity];
+    }
+
+    /**
+     * Creates the private store of a penguin whose state is written before it is
+     * added to a shared store, holding its initial state.
+     */
+    static PenguinStore of(Penguin p) {
+        PenguinStore store = new PenguinStore(1, false);
+        store.handles[0] = p;
+        store.size = 1;
+        return store;
+    }
+
+    /**
+     * Moves the state of a penguin into a new slot at the end of this store.
+     * From then on the penguin reads and writes that slot.
+     * @param p A penguin that is not in a shared store yet
+     * @throws IllegalArgumentException if the penguin already belongs to a shared store
+     */
+    public void add(Penguin p) {
+        if (p.store.shared) {
+            throw new IllegalArgumentException(p.getId() + " already belongs to a shared penguin store");
+        }
+        if (size == handles.length) grow();
+        copySlot(p.store, p.slot, size);
+        handles[size] = p;
+        p.attach(this, size);
+        size++;
+    }
+
+    /**
+     * Rearranges the slots so that slot i holds the i-th penguin of the given order,
+     * keeping each penguin's state. Loops by slot then follow that order.
+     * @param order Every penguin of this store, once
+     * @throws IllegalArgumentException if the order holds other penguins
+     */
+    public void arrange(List<Penguin> order) {
+        if (order.size() != size) {
+            throw new IllegalArgumentException("Expected " + size + " penguins, got " + order.size());
+        }
+        if (isArranged(order)) return;
+        PenguinStore old = copy();
+        for (int i = 0; i < size; i++) {
+            Penguin p = order.get(i);
+            if (p.store != this) {
+                throw new IllegalArgumentException(p.getId() + " does not belong to this penguin store");
+            }
+            copySlot(old, p.slot, i);
+            handles[i] = p;
+        }
+        for (int i = 0; i < size; i++) {
+            handles[i].attach(this, i);
+        }
+    }
+
+    private boolean isArranged(List<Penguin> order) {
+        for (int i = 0; i < size; i++) {
+            if (handles[i] != order.get(i)) return false;
+        }
+        return true;
+    }
+
+    private PenguinStore copy() {
+        PenguinStore copy = new PenguinStore(size, false);
+        System.arraycopy(xs, 0, copy.xs, 0, size);
+        System.arraycopy(ys, 0, copy.ys, 0, size);
+        System.arraycopy(states, 0, copy.states, 0, size);
+        System.arraycopy(foodWeights, 0, copy.foodWeights, 0, size);
+        return copy;
+    }
+
+    private void copySlot(PenguinStore from, int fromSlot, int toSlot) {
+        xs[toSlot] = from.xs[fromSlot];
+        ys[toSlot] = from.ys[fromSlot];
+        states[toSlot] = from.states[fromSlot];
+        foodWeights[toSlot] = from.foodWeights[fromSlot];
+    }
+
+    private void grow() {
+        int capacity = handles.length * 2;
+        handles = Arrays.copyOf(handles, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        states = Arrays.copyOf(states, capacity);
+        foodWeights = Arrays.copyOf(foodWeights, capacity);
+    }
+
+    // --- Slots, read by the handles and by loops over the population ---
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The penguin in a slot
+     */
+    public Penguin get(int slot) {
+        return handles[slot];
+    }
+
+    public int getX(int slot) { return xs[slot]; }
+    public int getY(int slot) { return ys[slot]; }
+    public int getStateBits(int slot) { return states[slot]; }
+    public boolean isEliminated(int slot) { return (states[slot] & Penguin.ELIMINATED) != 0; }
+    public boolean isStunned(int slot) { return (states[slot] & Penguin.STUNNED) != 0; }
+    public int getTotalFoodWeight(int slot) { return foodWeights[slot]; }
+
+    /**
+     * @return true if at least one penguin is not eliminated
+     */
+    public boolean hasActivePenguins() {
+        for (int i = 0; i < size; i++) {
+            if ((states[i] & Penguin.ELIMINATED) == 0) return true;
+        }
+        return false;
+    }
+
+    void setX(int slot, int x) { xs[slot] = x; }
+    void setY(int slot, int y) { ys[slot] = y; }
+    void setStateBits(int slot, int bits) { states[slot] = bits; }
+    void setTotalFoodWeight(int slot, int weight) { foodWeights[slot] = weight; }
+}
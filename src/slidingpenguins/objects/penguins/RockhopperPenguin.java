@@ -1,22 +1,22 @@
 package slidingpenguins.objects.penguins;
 
+import slidingpenguins.objects.ObjectKind;
+
 public class RockhopperPenguin extends Penguin {
 
-    private boolean jumpPrepared;
+    // State bit of the prepared jump, above the bits of Penguin
+    private static final int JUMP_PREPARED = 1 << STATE_BITS_USED;
 
     public RockhopperPenguin(String id) {
-        super(id);
-        this.jumpPrepared = false;
+        super(id, ObjectKind.ROCKHOPPER_PENGUIN);
     }
 
     @Override
     public void useSpecialAbility() {
         if (hasUsedAbility()) {
-            System.out.println(id + " (Rockhopper) has already used its special ability.");
             return;
         }
-        this.jumpPrepared = true;
-        System.out.println(id + " (Rockhopper) prepares to jump over the next hazard!");
+        setFlag(JUMP_PREPARED, true);
         markAbilityUsed();
     }
 
@@ -32,10 +32,10 @@ public class RockhopperPenguin extends Penguin {
     }
 
     public boolean isJumpPrepared() {
-        return jumpPrepared;
+        return hasFlag(JUMP_PREPARED);
     }
 
     public void consumeJump() {
-        this.jumpPrepared = false;
+        setFlag(JUMP_PREPARED, false);
     }
 }
@@ -1,18 +1,18 @@
 package slidingpenguins.objects.penguins;
 
+import slidingpenguins.objects.ObjectKind;
+
 public class RoyalPenguin extends Penguin {
 
     public RoyalPenguin(String id) {
-        super(id);
+        super(id, ObjectKind.ROYAL_PENGUIN);
     }
 
     @Override
     public void useSpecialAbility() {
         if (hasUsedAbility()) {
-            System.out.println(id + " (Royal) has already used its special ability.");
             return;
         }
-        System.out.println(id + " (Royal) can move to an adjacent square before sliding.");
         markAbilityUsed();
     }
 }
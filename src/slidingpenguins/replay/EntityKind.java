@@ -0,0 +1,43 @@
+package slidingpenguins.replay;
+
+import slidingpenguins.objects.ITerrainObject;
+import slidingpenguins.objects.hazards.HoleInIce;
+
+/**
+ * Kind of a terrain object as stored in a game log.
+ * The ordinal is the code written to the log, so constants may only be appended.
+ */
+public enum EntityKind {
+    PENGUIN,
+    FOOD,
+    LIGHT_ICE_BLOCK,
+    HEAVY_ICE_BLOCK,
+    SEA_LION,
+    HOLE_IN_ICE,
+    PLUGGED_HOLE;
+
+    private static final EntityKind[] VALUES = values();
+
+    /**
+     * @return The kind of the given object
+     * @throws IllegalArgumentException for objects no log code exists for
+     */
+    public static EntityKind of(ITerrainObject obj) {
+        switch (obj.getKind()) {
+            case KING_PENGUIN:
+            case EMPEROR_PENGUIN:
+            case ROYAL_PENGUIN:
+            case ROCKHOPPER_PENGUIN: return PENGUIN;
+            case FOOD:               return FOOD;
+            case LIGHT_ICE_BLOCK:    return LIGHT_ICE_BLOCK;
+            case HEAVY_ICE_BLOCK:    return HEAVY_ICE_BLOCK;
+            case SEA_LION:           return SEA_LION;
+            case HOLE_IN_ICE:        return ((HoleInIce) obj).isPlugged() ? PLUGGED_HOLE : HOLE_IN_ICE;
+            default: throw new IllegalArgumentException("Unknown terrain object: " + obj);
+        }
+    }
+
+    static EntityKind fromCode(int code) {
+        return VALUES[code];
+    }
+}
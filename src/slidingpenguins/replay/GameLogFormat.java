@@ -0,0 +1,54 @@
+package slidingpenguins.replay;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Layout of the binary game log shared by GameRecorder and GameReplayer.
+ *
+ * Header: magic (int), version (byte), seed (int) and the seven GameConfig values
+ * (rows, cols, penguinCount, hazardCount, foodCount, maxTurns, aiAbilityUseChance)
+ * as varints.
+ * Body: one event per record, an opcode byte followed by its operands. Penguins are
+ * referred to by their index in the turn order, counts and coordinates are
+ * unsigned varints (7 bits per byte), directions, kinds and food types are
+ * single-byte ordinals. A typical event takes two to four bytes.
+ */
+final class GameLogFormat {
+
+    static final int MAGIC = 0x53504C47; // "SPLG"
+    static final byte VERSION = 1;
+
+    static final byte TURN = 1;             // turn
+    static final byte DIRECTION = 2;        // penguin, direction
+    static final byte ABILITY = 3;          // penguin, used (0/1)
+    static final byte ROYAL_STEP = 4;       // penguin, direction
+    static final byte COLLISION = 5;        // slider kind, target kind, target x, target y
+    static final byte FOOD_PICKUP = 6;      // penguin, food type, weight
+    static final byte ELIMINATION = 7;      // penguin
+    static final byte STUN = 8;             // penguin
+    static final byte GAME_END = 9;         // turns played
+
+    // Upper bound of one encoded event: opcode, two bytes and two 5-byte varints
+    static final int MAX_EVENT_SIZE = 16;
+
+    private GameLogFormat() {
+    }
+
+    static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int getVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalArgumentException("Malformed varint at position " + buffer.position());
+    }
+}
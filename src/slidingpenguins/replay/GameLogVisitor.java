@@ -0,0 +1,36 @@
+package slidingpenguins.replay;
+
+import slidingpenguins.core.Direction;
+import slidingpenguins.objects.food.FoodType;
+
+/**
+ * Receives the decoded events of a game log, in the order they were recorded.
+ * Penguins are identified by their index in the turn order (0 for P1).
+ * Every method does nothing by default, so a visitor only overrides what it needs.
+ */
+public interface GameLogVisitor {
+
+    default void onTurn(int turn) { }
+
+    default void onDirection(int penguin, Direction direction) { }
+
+    default void onAbility(int penguin, boolean used) { }
+
+    default void onRoyalStep(int penguin, Direction direction) { }
+
+    /**
+     * @param slider Kind of the sliding object
+     * @param target Kind of the object it ran into
+     * @param x Column of the target
+     * @param y Row of the target
+     */
+    default void onCollision(EntityKind slider, EntityKind target, int x, int y) { }
+
+    default void onFoodPickup(int penguin, FoodType type, int weight) { }
+
+    default void onElimination(int penguin) { }
+
+    default void onStun(int penguin) { }
+
+    default void onGameEnd(int turnsPlayed) { }
+}
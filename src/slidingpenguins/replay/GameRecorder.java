@@ -0,0 +1,188 @@
+package slidingpenguins.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import slidingpenguins.core.Direction;
+import slidingpenguins.core.GameConfig;
+import slidingpenguins.core.GameListener;
+import slidingpenguins.core.IcyTerrain;
+import slidingpenguins.objects.ITerrainObject;
+import slidingpenguins.objects.food.Food;
+import slidingpenguins.objects.penguins.Penguin;
+
+import static slidingpenguins.replay.GameLogFormat.*;
+
+/**
+ * Writes the events of one game to a channel in the compact binary format of
+ * GameLogFormat. Attach it with IcyTerrain.addListener before the game starts
+ * and close it once the game is over.
+ *
+ * Events are encoded into a direct buffer that is written to the channel only
+ * when it fills up or the recorder is flushed, so recording costs a few bytes
+ * of buffer writes per event and one system call per buffer.
+ * Channel errors are rethrown as UncheckedIOException.
+ */
+public class GameRecorder implements GameListener, Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private List<Penguin> turnOrder = List.of();
+
+    /**
+     * @param channel Channel the log is written to; closed together with the recorder
+     */
+    public GameRecorder(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param channel Channel the log is written to; closed together with the recorder
+     * @param bufferSize Size of the write buffer in bytes
+     */
+    public GameRecorder(WritableByteChannel channel, int bufferSize) {
+        if (bufferSize < 64) {
+            throw new IllegalArgumentException("Buffer size must be at least 64 bytes: " + bufferSize);
+        }
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Creates a recorder that writes to a new file, replacing an existing one.
+     */
+    public static GameRecorder create(Path file) throws IOException {
+        return new GameRecorder(FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+    }
+
+    // --- Events ---
+
+    @Override
+    public void gameStarted(IcyTerrain terrain) {
+        turnOrder = terrain.getPenguins();
+        GameConfig config = terrain.getConfig();
+        ensureRemaining(64);
+        buffer.putInt(MAGIC);
+        buffer.put(VERSION);
+        buffer.putInt(terrain.getSeed());
+        putVarInt(buffer, config.getRows());
+        putVarInt(buffer, config.getCols());
+        putVarInt(buffer, config.getPenguinCount());
+        putVarInt(buffer, config.getHazardCount());
+        putVarInt(buffer, config.getFoodCount());
+        putVarInt(buffer, config.getMaxTurns());
+        putVarInt(buffer, config.getAiAbilityUseChance());
+    }
+
+    @Override
+    public void turnStarted(int turn) {
+        ensureRemaining(MAX_EVENT_SIZE);
+        buffer.put(TURN);
+        putVarInt(buffer, turn);
+    }
+
+    @Override
+    public void directionChosen(Penguin penguin, Direction direction) {
+        putPenguinEvent(DIRECTION, penguin);
+        buffer.put((byte) direction.ordinal());
+    }
+
+    @Override
+    public void abilityChosen(Penguin penguin, boolean used) {
+        putPenguinEvent(ABILITY, penguin);
+        buffer.put((byte) (used ? 1 : 0));
+    }
+
+    @Override
+    public void royalStepChosen(Penguin penguin, Direction direction) {
+        putPenguinEvent(ROYAL_STEP, penguin);
+        buffer.put((byte) direction.ordinal());
+    }
+
+    @Override
+    public void collided(ITerrainObject slider, ITerrainObject target, int x, int y) {
+        ensureRemaining(MAX_EVENT_SIZE);
+        buffer.put(COLLISION);
+        buffer.put((byte) EntityKind.of(slider).ordinal());
+        buffer.put((byte) EntityKind.of(target).ordinal());
+        putVarInt(buffer, x);
+        putVarInt(buffer, y);
+    }
+
+    @Override
+    public void foodPickedUp(Penguin penguin, Food food) {
+        putPenguinEvent(FOOD_PICKUP, penguin);
+        buffer.put((byte) food.getType().ordinal());
+        buffer.put((byte) food.getWeight());
+    }
+
+    @Override
+    public void penguinEliminated(Penguin penguin) {
+        putPenguinEvent(ELIMINATION, penguin);
+    }
+
+    @Override
+    public void penguinStunned(Penguin penguin) {
+        putPenguinEvent(STUN, penguin);
+    }
+
+    @Override
+    public void gameEnded(int turnsPlayed) {
+        ensureRemaining(MAX_EVENT_SIZE);
+        buffer.put(GAME_END);
+        putVarInt(buffer, turnsPlayed);
+    }
+
+    // --- Output ---
+
+    /**
+     * Writes all buffered events to the channel.
+     */
+    public void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the game log", e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Flushes the remaining events and closes the channel.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Starts an event that refers to a penguin, leaving room for its operands.
+     */
+    private void putPenguinEvent(byte opcode, Penguin penguin) {
+        ensureRemaining(MAX_EVENT_SIZE);
+        buffer.put(opcode);
+        putVarInt(buffer, turnOrder.indexOf(penguin));
+    }
+
+    private void ensureRemaining(int bytes) {
+        if (buffer.remaining() < bytes) flush();
+    }
+}
@@ -0,0 +1,249 @@
+package slidingpenguins.replay;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import slidingpenguins.core.Direction;
+import slidingpenguins.core.GameConfig;
+import slidingpenguins.core.IcyTerrain;
+import slidingpenguins.objects.food.FoodType;
+import slidingpenguins.objects.penguins.Penguin;
+
+import static slidingpenguins.replay.GameLogFormat.*;
+
+/**
+ * Reads a game log written by GameRecorder and replays the game.
+ *
+ * The log is read into memory and indexed once: the byte offset of every turn
+ * and the recorded decisions are kept, so the events of a single turn can be
+ * decoded directly and any turn can be rebuilt without going through the others' events.
+ * A replay regenerates the terrain from the recorded seed and configuration and
+ * plays it headlessly with the recorded decisions, which is much faster than the
+ * original game since nothing is printed or waited for.
+ */
+public class GameReplayer {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final FoodType[] FOOD_TYPES = FoodType.values();
+
+    private final ByteBuffer log;
+    private final int seed;
+    private final GameConfig config;
+    private final int bodyStart;
+    private final ReplayController.Decisions decisions = new ReplayController.Decisions();
+    private int[] turnOffsets = new int[16];
+    private int turnCount;
+
+    /**
+     * Reads a complete log from the channel. The channel is not closed.
+     * @throws IOException if the channel cannot be read
+     * @throws IllegalArgumentException if the data is not a valid game log
+     */
+    public GameReplayer(ReadableByteChannel channel) throws IOException {
+        this(readFully(channel));
+    }
+
+    private GameReplayer(ByteBuffer log) {
+        this.log = log;
+        try {
+            if (log.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a game log");
+            }
+            byte version = log.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported game log version: " + version);
+            }
+            this.seed = log.getInt();
+            this.config = new GameConfig(getVarInt(log), getVarInt(log), getVarInt(log), getVarInt(log),
+                    getVarInt(log), getVarInt(log), getVarInt(log));
+            this.bodyStart = log.position();
+            index();
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated game log", e);
+        }
+    }
+
+    /**
+     * Reads the log stored in a file.
+     */
+    public static GameReplayer open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new GameReplayer(channel);
+        }
+    }
+
+    public int getSeed() {
+        return seed;
+    }
+
+    public GameConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * @return Number of turns started in the recorded game
+     */
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    // --- Events ---
+
+    /**
+     * Decodes every event of the log in recorded order.
+     */
+    public void accept(GameLogVisitor visitor) {
+        decode(bodyStart, log.limit(), visitor);
+    }
+
+    /**
+     * Decodes the events of a single turn, starting with its turn event.
+     * @param turn The turn (1-based)
+     */
+    public void acceptTurn(int turn, GameLogVisitor visitor) {
+        checkTurn(turn, 1);
+        int end = turn < turnCount ? turnOffsets[turn] : log.limit();
+        decode(turnOffsets[turn - 1], end, visitor);
+    }
+
+    // --- Replay ---
+
+    /**
+     * Rebuilds the game as it was at the end of the given turn.
+     * @param turn Number of turns to replay; 0 gives the initial terrain
+     * @return A terrain in the recorded state, driven by replay controllers
+     * @throws IllegalStateException if the game no longer plays as recorded
+     */
+    public IcyTerrain replayTo(int turn) {
+        checkTurn(turn, 0);
+        IcyTerrain terrain = new IcyTerrain(seed, config);
+        ReplayController controller = new ReplayController(decisions);
+        for (Penguin p : terrain.getPenguins()) {
+            terrain.setController(p, controller);
+        }
+        if (turn > 0) terrain.playHeadless(turn);
+        return terrain;
+    }
+
+    /**
+     * Replays the complete game.
+     */
+    public IcyTerrain replay() {
+        return replayTo(turnCount);
+    }
+
+    private void checkTurn(int turn, int first) {
+        if (turn < first || turn > turnCount) {
+            throw new IllegalArgumentException("Turn " + turn + " is not in the log (turns "
+                    + first + "-" + turnCount + ")");
+        }
+    }
+
+    // --- Decoding ---
+
+    /**
+     * Validates the body once and remembers the turn offsets and the decisions.
+     */
+    private void index() {
+        GameLogVisitor collector = new GameLogVisitor() {
+            @Override
+            public void onDirection(int penguin, Direction direction) {
+                decisions.add(DIRECTION, penguin, direction.ordinal());
+            }
+
+            @Override
+            public void onAbility(int penguin, boolean used) {
+                decisions.add(ABILITY, penguin, used ? 1 : 0);
+            }
+
+            @Override
+            public void onRoyalStep(int penguin, Direction direction) {
+                decisions.add(ROYAL_STEP, penguin, direction.ordinal());
+            }
+        };
+        ByteBuffer in = log.duplicate();
+        in.position(bodyStart);
+        while (in.hasRemaining()) {
+            if (in.get(in.position()) == TURN) {
+                if (turnCount == turnOffsets.length) {
+                    turnOffsets = Arrays.copyOf(turnOffsets, turnCount * 2);
+                }
+                turnOffsets[turnCount++] = in.position();
+            }
+            decodeEvent(in, collector);
+        }
+    }
+
+    private void decode(int from, int to, GameLogVisitor visitor) {
+        ByteBuffer in = log.duplicate();
+        in.position(from).limit(to);
+        while (in.hasRemaining()) {
+            decodeEvent(in, visitor);
+        }
+    }
+
+    private static void decodeEvent(ByteBuffer in, GameLogVisitor visitor) {
+        int position = in.position();
+        byte opcode = in.get();
+        switch (opcode) {
+            case TURN:
+                visitor.onTurn(getVarInt(in));
+                break;
+            case DIRECTION:
+                visitor.onDirection(getVarInt(in), DIRECTIONS[in.get()]);
+                break;
+            case ABILITY:
+                visitor.onAbility(getVarInt(in), in.get() != 0);
+                break;
+            case ROYAL_STEP:
+                visitor.onRoyalStep(getVarInt(in), DIRECTIONS[in.get()]);
+                break;
+            case COLLISION: {
+                EntityKind slider = EntityKind.fromCode(in.get());
+                EntityKind target = EntityKind.fromCode(in.get());
+                int x = getVarInt(in);
+                visitor.onCollision(slider, target, x, getVarInt(in));
+                break;
+            }
+            case FOOD_PICKUP: {
+                int penguin = getVarInt(in);
+                FoodType type = FOOD_TYPES[in.get()];
+                visitor.onFoodPickup(penguin, type, in.get());
+                break;
+            }
+            case ELIMINATION:
+                visitor.onElimination(getVarInt(in));
+                break;
+            case STUN:
+                visitor.onStun(getVarInt(in));
+                break;
+            case GAME_END:
+                visitor.onGameEnd(getVarInt(in));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown event code " + opcode + " at position " + position);
+        }
+    }
+
+    private static ByteBuffer readFully(ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(channel instanceof FileChannel file
+                ? (int) Math.min(file.size() - file.position() + 1, Integer.MAX_VALUE - 8)
+                : 4096);
+        while (channel.read(buffer) >= 0) {
+            if (!buffer.hasRemaining()) {
+                ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
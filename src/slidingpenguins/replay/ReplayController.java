@@ -0,0 +1,85 @@
+package slidingpenguins.replay;
+
+import java.util.Arrays;
+import java.util.List;
+
+import slidingpenguins.core.Direction;
+import slidingpenguins.core.IcyTerrain;
+import slidingpenguins.core.PenguinController;
+import slidingpenguins.objects.penguins.Penguin;
+
+/**
+ * Drives every penguin of a replayed game with the decisions read from its log.
+ * The engine asks for decisions in exactly the order it did while recording,
+ * so they are handed out sequentially; a request that does not match the next
+ * recorded decision means the replay diverged and fails fast.
+ */
+class ReplayController implements PenguinController {
+
+    /**
+     * The decisions of a log in recorded order, shared by all replays of it.
+     */
+    static final class Decisions {
+
+        private byte[] kinds = new byte[64];
+        private int[] penguins = new int[64];
+        private byte[] values = new byte[64];
+        private int count;
+
+        void add(byte kind, int penguin, int value) {
+            if (count == kinds.length) {
+                kinds = Arrays.copyOf(kinds, count * 2);
+                penguins = Arrays.copyOf(penguins, count * 2);
+                values = Arrays.copyOf(values, count * 2);
+            }
+            kinds[count] = kind;
+            penguins[count] = penguin;
+            values[count] = (byte) value;
+            count++;
+        }
+    }
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final Decisions decisions;
+    private List<Penguin> turnOrder;
+    private int next;
+
+    ReplayController(Decisions decisions) {
+        this.decisions = decisions;
+    }
+
+    @Override
+    public Direction chooseDirection(IcyTerrain terrain, Penguin penguin) {
+        return DIRECTIONS[take(GameLogFormat.DIRECTION, terrain, penguin)];
+    }
+
+    @Override
+    public boolean chooseToUseAbility(IcyTerrain terrain, Penguin penguin, Direction chosenDir) {
+        return take(GameLogFormat.ABILITY, terrain, penguin) != 0;
+    }
+
+    @Override
+    public Direction chooseRoyalStep(IcyTerrain terrain, Penguin penguin) {
+        return DIRECTIONS[take(GameLogFormat.ROYAL_STEP, terrain, penguin)];
+    }
+
+    /**
+     * Returns the value of the next recorded decision after checking that it is the requested one.
+     */
+    private int take(byte kind, IcyTerrain terrain, Penguin penguin) {
+        // The turn order is fixed once the game has started, which is before the first decision
+        if (turnOrder == null) turnOrder = terrain.getPenguins();
+        int penguinIndex = turnOrder.indexOf(penguin);
+        if (next >= decisions.count) {
+            throw new IllegalStateException("Replay diverged: the log has no decision left for "
+                    + penguin.getId());
+        }
+        if (decisions.kinds[next] != kind || decisions.penguins[next] != penguinIndex) {
+            throw new IllegalStateException("Replay diverged at decision " + next + ": expected event "
+                    + decisions.kinds[next] + " of penguin " + decisions.penguins[next]
+                    + ", got event " + kind + " of " + penguin.getId());
+        }
+        return decisions.values[next++];
+    }
+}
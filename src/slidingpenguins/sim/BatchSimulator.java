@@ -0,0 +1,114 @@
+package slidingpenguins.sim;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import slidingpenguins.core.GameConfig;
+import slidingpenguins.core.IcyTerrain;
+
+/**
+ * Runs many seeded headless games in parallel and aggregates their results.
+ * The seed range is split recursively on a fork/join pool. Every leaf plays
+ * its seeds into its own BatchStatistics and the partial results are merged
+ * while joining, so workers never share mutable state and no locks are needed.
+ * Since each seed always plays the same game and the statistics merge exactly,
+ * the result does not depend on the number of threads.
+ */
+public class BatchSimulator {
+
+    // Seeds played sequentially by one task before splitting stops
+    private static final int LEAF_SIZE = 256;
+
+    private final GameConfig config;
+    private final int parallelism;
+
+    /**
+     * Creates a simulator of standard games that uses every available core.
+     */
+    public BatchSimulator() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a simulator of standard games.
+     * @param parallelism Number of worker threads
+     */
+    public BatchSimulator(int parallelism) {
+        this(GameConfig.DEFAULT, parallelism);
+    }
+
+    /**
+     * @param config Configuration shared by every simulated game
+     * @param parallelism Number of worker threads
+     */
+    public BatchSimulator(GameConfig config, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        this.config = config;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Plays one headless game for every seed in [fromSeed, toSeed).
+     * @param fromSeed First seed (inclusive)
+     * @param toSeed Last seed (exclusive)
+     * @return Aggregate statistics of all games
+     */
+    public BatchStatistics run(int fromSeed, int toSeed) {
+        if (toSeed < fromSeed) {
+            throw new IllegalArgumentException("Invalid seed range: [" + fromSeed + ", " + toSeed + ")");
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new SeedRangeTask(config, fromSeed, toSeed));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays a single seed.
+     */
+    private static void playSeed(GameConfig config, int seed, BatchStatistics stats) {
+        IcyTerrain terrain = new IcyTerrain(seed, config);
+        stats.add(terrain.playHeadless());
+    }
+
+    /**
+     * Recursively splits a seed range and merges the statistics of both halves.
+     * Bounds are kept as longs so that ranges ending at Integer.MAX_VALUE cannot overflow.
+     */
+    private static class SeedRangeTask extends RecursiveTask<BatchStatistics> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final GameConfig config;
+        private final long from;
+        private final long to;
+
+        SeedRangeTask(GameConfig config, long from, long to) {
+            this.config = config;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected BatchStatistics compute() {
+            if (to - from <= LEAF_SIZE) {
+                BatchStatistics stats = new BatchStatistics();
+                for (long seed = from; seed < to; seed++) {
+                    playSeed(config, (int) seed, stats);
+                }
+                return stats;
+            }
+            long middle = from + (to - from) / 2;
+            SeedRangeTask left = new SeedRangeTask(config, from, middle);
+            SeedRangeTask right = new SeedRangeTask(config, middle, to);
+            left.fork();
+            BatchStatistics stats = right.compute();
+            stats.merge(left.join());
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package slidingpenguins.sim;
+
+import slidingpenguins.core.GameResult;
+
+/**
+ * Aggregate statistics over a batch of simulated games.
+ * Only exact integer sums, minimums and maximums are kept, so merging partial
+ * statistics gives the same totals in any order. This is what makes a batch
+ * produce identical results regardless of how many threads ran it.
+ * An instance is filled by a single thread; partial results are combined with merge.
+ */
+public class BatchStatistics {
+
+    private long games;
+    private long turnsPlayed;
+    private long penguins;
+    private long eliminations;
+    private long gamesWithoutSurvivors;
+    private long scoreSum;
+    private long scoreSquareSum;
+    private long bestScoreSum;
+    private long myPenguinScoreSum;
+    private int minScore = Integer.MAX_VALUE;
+    private int maxScore = Integer.MIN_VALUE;
+
+    /**
+     * Adds the result of one game.
+     * @param result The finished game
+     */
+    public void add(GameResult result) {
+        games++;
+        turnsPlayed += result.getTurnsPlayed();
+
+        int count = result.getPenguinCount();
+        int eliminated = result.getEliminationCount();
+        penguins += count;
+        eliminations += eliminated;
+        if (eliminated == count) gamesWithoutSurvivors++;
+
+        for (int i = 0; i < count; i++) {
+            int score = result.getScore(i);
+            scoreSum += score;
+            scoreSquareSum += (long) score * score;
+            minScore = Math.min(minScore, score);
+            maxScore = Math.max(maxScore, score);
+        }
+        bestScoreSum += result.getBestScore();
+        if (result.getMyPenguinIndex() >= 0) {
+            myPenguinScoreSum += result.getScore(result.getMyPenguinIndex());
+        }
+    }
+
+    /**
+     * Adds the statistics of another (disjoint) batch into this one.
+     * @param other Statistics of other games
+     */
+    public void merge(BatchStatistics other) {
+        games += other.games;
+        turnsPlayed += other.turnsPlayed;
+        penguins += other.penguins;
+        eliminations += other.eliminations;
+        gamesWithoutSurvivors += other.gamesWithoutSurvivors;
+        scoreSum += other.scoreSum;
+        scoreSquareSum += other.scoreSquareSum;
+        bestScoreSum += other.bestScoreSum;
+        myPenguinScoreSum += other.myPenguinScoreSum;
+        minScore = Math.min(minScore, other.minScore);
+        maxScore = Math.max(maxScore, other.maxScore);
+    }
+
+    public long getGames() { return games; }
+    public long getTurnsPlayed() { return turnsPlayed; }
+    public long getPenguins() { return penguins; }
+    public long getEliminations() { return eliminations; }
+    public long getGamesWithoutSurvivors() { return gamesWithoutSurvivors; }
+    public long getScoreSum() { return scoreSum; }
+
+    /**
+     * @return Lowest final score of any penguin, or 0 if no game was added
+     */
+    public int getMinScore() {
+        return games == 0 ? 0 : minScore;
+    }
+
+    /**
+     * @return Highest final score of any penguin, or 0 if no game was added
+     */
+    public int getMaxScore() {
+        return games == 0 ? 0 : maxScore;
+    }
+
+    public double getAverageTurns() {
+        return games == 0 ? 0 : (double) turnsPlayed / games;
+    }
+
+    public double getAverageScore() {
+        return penguins == 0 ? 0 : (double) scoreSum / penguins;
+    }
+
+    /**
+     * @return Population standard deviation of the penguins' final scores
+     */
+    public double getScoreStandardDeviation() {
+        if (penguins == 0) return 0;
+        double mean = (double) scoreSum / penguins;
+        double variance = (double) scoreSquareSum / penguins - mean * mean;
+        return Math.sqrt(Math.max(0, variance));
+    }
+
+    /**
+     * @return Average score of the winning penguin of each game
+     */
+    public double getAverageBestScore() {
+        return games == 0 ? 0 : (double) bestScoreSum / games;
+    }
+
+    /**
+     * @return Average score of the user's penguin
+     */
+    public double getAverageMyPenguinScore() {
+        return games == 0 ? 0 : (double) myPenguinScoreSum / games;
+    }
+
+    /**
+     * @return Fraction of penguins eliminated during their game
+     */
+    public double getEliminationRate() {
+        return penguins == 0 ? 0 : (double) eliminations / penguins;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "Games: %d%n"
+                + "Average turns played: %.3f%n"
+                + "Eliminations: %d of %d penguins (%.2f%%), games without survivors: %d%n"
+                + "Score: avg %.3f, std dev %.3f, min %d, max %d%n"
+                + "Average winning score: %.3f, average score of the user's penguin: %.3f",
+                games, getAverageTurns(),
+                eliminations, penguins, getEliminationRate() * 100, gamesWithoutSurvivors,
+                getAverageScore(), getScoreStandardDeviation(), getMinScore(), getMaxScore(),
+                getAverageBestScore(), getAverageMyPenguinScore());
+    }
+}
@@ -0,0 +1,415 @@
+package slidingpenguins.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Output sink that hands the console writes of a game to a background thread.
+ *
+ * Text is encoded (UTF-8) and frames are copied into a fixed ring of bytes, and a
+ * daemon writer thread drains the ring into the stream, flushing it whenever the
+ * ring runs empty. The game thread only copies bytes, so a slow terminal or pipe
+ * no longer stalls the game until the ring is full. What happens then is decided
+ * by the overflow policy. Every line and frame is queued as a whole, so a dropped
+ * one is never written half.
+ *
+ * The ring has a single producer: all writes, flush and close must come from one
+ * thread at a time (the game thread). After the ring and the encoding buffer have
+ * reached their working size, writing allocates nothing.
+ * A failure of the stream is rethrown as UncheckedIOException by the next call.
+ */
+public final class AsyncOutputSink implements OutputSink, AutoCloseable {
+
+    /**
+     * What a write does when its bytes do not fit into the ring.
+     */
+    public enum OverflowPolicy {
+        /** Wait until the writer has made room; nothing is lost. */
+        BLOCK,
+        /** Drop the line or frame. */
+        DROP,
+        /**
+         * Text waits like BLOCK, frames are kept aside instead: a newer frame replaces
+         * the one kept aside, which is queued (waiting if needed) before the next text
+         * and on flush. Every frame redraws the whole grid, so only the latest one matters.
+         */
+        COALESCE_FRAMES
+    }
+
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+    private static final long PARK_NANOS = 100_000;
+
+    private final OutputStream out;
+    private final OverflowPolicy policy;
+    private final byte[] ring;
+    private final int mask;
+    private final Thread writer;
+
+    // Positions only grow; the index in the ring is position & mask
+    private volatile long head; // next byte to write, advanced by the writer
+    private volatile long tail; // next byte to fill, advanced by the producer
+    private long cachedHead;    // producer's last read of head
+
+    private volatile boolean writerParked;
+    private volatile Thread parkedProducer;
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    // Encoded text and the frame kept aside by COALESCE_FRAMES
+    private byte[] scratch = new byte[256];
+    private byte[] pendingFrame = new byte[0];
+    private int pendingFrameLength = -1;
+
+    // Metrics, written by a single thread each
+    private volatile long peakQueuedBytes;
+    private volatile long droppedWrites;
+    private volatile long droppedBytes;
+    private volatile long coalescedFrames;
+
+    /**
+     * Creates a sink and starts its writer thread.
+     * @param out Stream the writer thread writes to; flushed but not closed by close()
+     * @param capacity Size of the ring in bytes, rounded up to a power of two
+     * @param policy What a write does when the ring is full
+     */
+    public AsyncOutputSink(OutputStream out, int capacity, OverflowPolicy policy) {
+        if (capacity < 64 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be within 64-" + (1 << 30) + ": " + capacity);
+        }
+        this.out = out;
+        this.policy = policy;
+        this.ring = new byte[Integer.highestOneBit(capacity - 1) << 1];
+        this.mask = ring.length - 1;
+        this.writer = new Thread(this::drain, "game-output-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // --- OutputSink ---
+
+    @Override
+    public void print(CharSequence text) {
+        writeText(text, false);
+    }
+
+    @Override
+    public void println(CharSequence text) {
+        writeText(text, true);
+    }
+
+    @Override
+    public void writeFrame(byte[] frame, int offset, int length) {
+        checkOpen();
+        switch (policy) {
+            case BLOCK:
+                put(frame, offset, length);
+                break;
+            case DROP:
+                if (!offer(frame, offset, length)) countDrop(length);
+                break;
+            case COALESCE_FRAMES:
+                if (pendingFrameLength >= 0) {
+                    // This frame supersedes the one kept aside
+                    pendingFrameLength = -1;
+                    coalescedFrames++;
+                }
+                if (!offer(frame, offset, length)) {
+                    if (pendingFrame.length < length) pendingFrame = new byte[length];
+                    System.arraycopy(frame, offset, pendingFrame, 0, length);
+                    pendingFrameLength = length;
+                }
+                break;
+        }
+    }
+
+    /**
+     * Queues the changes after everything written so far, including a frame kept aside,
+     * waiting for room whatever the policy: a lost update would leave the grid wrong
+     * until the next complete frame.
+     */
+    @Override
+    public void writeFrameUpdate(byte[] update, int offset, int length) {
+        checkOpen();
+        putPendingFrame();
+        put(update, offset, length);
+    }
+
+    /**
+     * Waits until everything written so far, including a frame kept aside, has been
+     * written to the stream and the stream has been flushed.
+     */
+    @Override
+    public void flush() {
+        checkOpen();
+        putPendingFrame();
+        awaitDrained();
+    }
+
+    /**
+     * Flushes, then stops the writer thread. Later writes throw IllegalStateException.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        try {
+            putPendingFrame();
+            awaitDrained();
+        } finally {
+            closed = true;
+            LockSupport.unpark(writer);
+            boolean interrupted = false;
+            while (writer.isAlive()) {
+                try {
+                    writer.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    // --- Metrics ---
+
+    /**
+     * @return Size of the ring in bytes
+     */
+    public int capacity() {
+        return ring.length;
+    }
+
+    /**
+     * @return Number of bytes waiting in the ring for the writer thread
+     */
+    public long getQueuedBytes() {
+        return tail - head;
+    }
+
+    /**
+     * @return Highest number of queued bytes seen after a write
+     */
+    public long getPeakQueuedBytes() {
+        return peakQueuedBytes;
+    }
+
+    /**
+     * @return Number of bytes written to the stream so far
+     */
+    public long getWrittenBytes() {
+        return head;
+    }
+
+    /**
+     * @return Number of lines and frames dropped by the DROP policy
+     */
+    public long getDroppedWrites() {
+        return droppedWrites;
+    }
+
+    /**
+     * @return Number of bytes of the dropped lines and frames
+     */
+    public long getDroppedBytes() {
+        return droppedBytes;
+    }
+
+    /**
+     * @return Number of frames replaced by a newer one before they could be queued (COALESCE_FRAMES)
+     */
+    public long getCoalescedFrames() {
+        return coalescedFrames;
+    }
+
+    // --- Producer side ---
+
+    private void writeText(CharSequence text, boolean newLine) {
+        checkOpen();
+        int length = encode(text, newLine);
+        if (policy == OverflowPolicy.DROP) {
+            if (!offer(scratch, 0, length)) countDrop(length);
+            return;
+        }
+        putPendingFrame(); // keeps the order of frames and text
+        put(scratch, 0, length);
+    }
+
+    /**
+     * Encodes text as UTF-8 into the scratch buffer.
+     * @return Number of bytes
+     */
+    private int encode(CharSequence text, boolean newLine) {
+        int length = 0;
+        int count = text.length();
+        // At most 3 bytes per char (a surrogate pair takes 4 bytes for 2 chars)
+        ensureScratch(count * 3 + LINE_SEPARATOR.length);
+        for (int i = 0; i < count; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                scratch[length++] = (byte) c;
+            } else if (c < 0x800) {
+                scratch[length++] = (byte) (0xC0 | c >> 6);
+                scratch[length++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < count && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, text.charAt(++i));
+                scratch[length++] = (byte) (0xF0 | cp >> 18);
+                scratch[length++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                scratch[length++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                scratch[length++] = (byte) (0x80 | cp & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                scratch[length++] = '?';
+            } else {
+                scratch[length++] = (byte) (0xE0 | c >> 12);
+                scratch[length++] = (byte) (0x80 | c >> 6 & 0x3F);
+                scratch[length++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        if (newLine) {
+            System.arraycopy(LINE_SEPARATOR, 0, scratch, length, LINE_SEPARATOR.length);
+            length += LINE_SEPARATOR.length;
+        }
+        return length;
+    }
+
+    private void ensureScratch(int size) {
+        if (scratch.length < size) {
+            scratch = Arrays.copyOf(scratch, Math.max(size, scratch.length * 2));
+        }
+    }
+
+    private void putPendingFrame() {
+        if (pendingFrameLength >= 0) {
+            int length = pendingFrameLength;
+            pendingFrameLength = -1;
+            put(pendingFrame, 0, length);
+        }
+    }
+
+    /**
+     * Queues bytes only if all of them fit right now.
+     * @return false if they do not
+     */
+    private boolean offer(byte[] src, int offset, int length) {
+        if (freeSpace(length) < length) return false;
+        copyIn(src, offset, length);
+        return true;
+    }
+
+    /**
+     * Queues bytes, waiting for room as often as needed; more bytes than the ring
+     * holds are queued in parts.
+     */
+    private void put(byte[] src, int offset, int length) {
+        while (length > 0) {
+            int free = freeSpace(length);
+            if (free == 0) {
+                awaitSpace();
+                continue;
+            }
+            int part = Math.min(free, length);
+            copyIn(src, offset, part);
+            offset += part;
+            length -= part;
+        }
+    }
+
+    /**
+     * Returns the free space of the ring, reading the writer's position only when
+     * the last one read does not leave room for the bytes wanted.
+     */
+    private int freeSpace(int wanted) {
+        long t = tail;
+        if (ring.length - (t - cachedHead) < wanted) {
+            cachedHead = head;
+        }
+        return (int) (ring.length - (t - cachedHead));
+    }
+
+    private void copyIn(byte[] src, int offset, int length) {
+        long t = tail;
+        int start = (int) t & mask;
+        int first = Math.min(length, ring.length - start);
+        System.arraycopy(src, offset, ring, start, first);
+        System.arraycopy(src, offset + first, ring, 0, length - first);
+        tail = t + length;
+        long queued = t + length - head;
+        if (queued > peakQueuedBytes) peakQueuedBytes = queued;
+        if (writerParked) LockSupport.unpark(writer);
+    }
+
+    private void awaitSpace() {
+        checkFailure();
+        parkedProducer = Thread.currentThread();
+        if (tail - head == ring.length) {
+            LockSupport.parkNanos(this, PARK_NANOS);
+        }
+        parkedProducer = null;
+        cachedHead = head;
+    }
+
+    private void awaitDrained() {
+        while (head != tail) {
+            checkFailure();
+            parkedProducer = Thread.currentThread();
+            if (head != tail) {
+                LockSupport.parkNanos(this, PARK_NANOS);
+            }
+            parkedProducer = null;
+        }
+        checkFailure();
+    }
+
+    private void countDrop(int length) {
+        droppedWrites++;
+        droppedBytes += length;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("The output sink is closed");
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() {
+        IOException e = failure;
+        if (e != null) {
+            throw new UncheckedIOException("Writing the game output failed", e);
+        }
+    }
+
+    // --- Writer thread ---
+
+    private void drain() {
+        try {
+            while (true) {
+                long h = head;
+                long t = tail;
+                if (h == t) {
+                    if (closed) break;
+                    writerParked = true;
+                    if (tail == h && !closed) {
+                        LockSupport.parkNanos(this, PARK_NANOS * 10);
+                    }
+                    writerParked = false;
+                    continue;
+                }
+                int start = (int) h & mask;
+                int length = (int) Math.min(t - h, ring.length - start);
+                out.write(ring, start, length);
+                if (h + length == tail) out.flush();
+                head = h + length;
+                Thread producer = parkedProducer;
+                if (producer != null) LockSupport.unpark(producer);
+            }
+            out.flush();
+        } catch (IOException e) {
+            failure = e;
+            Thread producer = parkedProducer;
+            if (producer != null) LockSupport.unpark(producer);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package slidingpenguins.util;
+
+import slidingpenguins.core.Direction;
+import slidingpenguins.core.GameListener;
+import slidingpenguins.core.IcyTerrain;
+import slidingpenguins.objects.ISlidable;
+import slidingpenguins.objects.ITerrainObject;
+import slidingpenguins.objects.ObjectKind;
+import slidingpenguins.objects.food.Food;
+import slidingpenguins.objects.penguins.Penguin;
+import slidingpenguins.objects.penguins.RockhopperPenguin;
+
+/**
+ * Listener that narrates the game on the console, through GameOutput.
+ * IcyTerrain attaches one for the duration of an interactive game (startGame);
+ * headless games have no narrator, so nothing is formatted while they play.
+ */
+public class ConsoleNarrator implements GameListener {
+
+    private IcyTerrain terrain;
+    private Penguin myPenguin;
+    private Direction chosenDirection; // of the penguin whose turn it is
+
+    @Override
+    public void gameStarted(IcyTerrain terrain) {
+        this.terrain = terrain;
+        myPenguin = terrain.getMyPenguin();
+    }
+
+    @Override
+    public void turnStarted(int turn) {
+        GameOutput.println("\n*** Turn " + turn + " ***");
+    }
+
+    @Override
+    public void penguinTurnStarted(Penguin penguin) {
+        GameOutput.print("\n--- " + penguin.getId() + "'s Turn ---");
+        if (penguin == myPenguin) {
+            GameOutput.println(" (Your Penguin)\n");
+        }
+    }
+
+    @Override
+    public void turnSkipped(Penguin penguin) {
+        if (penguin.isEliminated()) {
+            GameOutput.println(penguin.getId() + " is eliminated and skips turn.");
+        } else {
+            GameOutput.println(penguin.getId() + " is stunned and skips this turn!");
+        }
+    }
+
+    @Override
+    public void directionChosen(Penguin penguin, Direction direction) {
+        chosenDirection = direction;
+    }
+
+    /**
+     * Announces the decision of an AI penguin; the user sees their own answer at the prompt.
+     * An AI Rockhopper heading towards a hazard uses its action automatically.
+     */
+    @Override
+    public void abilityChosen(Penguin penguin, boolean used) {
+        if (terrain.isInteractive(penguin)) return;
+        String id = penguin.getId();
+        if (!used && penguin.hasUsedAbility()) {
+            GameOutput.println("\n" + id + " has already used its special action (AI).");
+            return;
+        }
+        if (used && penguin.getKind() == ObjectKind.ROCKHOPPER_PENGUIN && isHazardAhead(penguin)) {
+            GameOutput.println("\n" + id + " (AI) sees a hazard and automatically uses its special action!");
+        }
+        if (used) {
+            GameOutput.println("\n" + id + " chooses to USE its special action.");
+        } else {
+            GameOutput.println("\n" + id + " does NOT use its special action.");
+        }
+    }
+
+    private boolean isHazardAhead(Penguin penguin) {
+        ITerrainObject ahead = terrain.peekObject(penguin.getX(), penguin.getY(), chosenDirection);
+        return ahead != null && ahead.getKind().isHazard() && ahead.getKind() != ObjectKind.HOLE_IN_ICE;
+    }
+
+    @Override
+    public void abilityActivated(Penguin penguin) {
+        String id = penguin.getId();
+        switch (penguin.getKind()) {
+            case KING_PENGUIN:
+                GameOutput.println(id + " (King) is prepared to stop at the 5th square if needed.");
+                break;
+            case EMPEROR_PENGUIN:
+                GameOutput.println(id + " (Emperor) is prepared to stop at the 3rd square if needed.");
+                break;
+            case ROYAL_PENGUIN:
+                GameOutput.println(id + " (Royal) can move to an adjacent square before sliding.");
+                break;
+            case ROCKHOPPER_PENGUIN:
+                GameOutput.println(id + " (Rockhopper) prepares to jump over the next hazard!");
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void abilityAlreadyUsed(Penguin penguin) {
+        GameOutput.println(penguin.getId() + " (" + typeTag(penguin) + ") has already used its special ability.");
+    }
+
+    @Override
+    public void royalStepChosen(Penguin penguin, Direction direction) {
+        GameOutput.println(penguin.getId() + " moves one square to the " + direction + ".");
+    }
+
+    @Override
+    public void moveStarted(Penguin penguin, Direction direction) {
+        GameOutput.println(penguin.getId() + " chooses to move " + direction);
+    }
+
+    @Override
+    public void slideStarted(ISlidable hazard, Direction direction) {
+        // Only the ice block announces its slide; a sea lion starts moving silently
+        if (hazard.getKind() == ObjectKind.LIGHT_ICE_BLOCK) {
+            GameOutput.println("LightIceBlock is sliding " + direction + "...");
+        }
+    }
+
+    @Override
+    public void abilityLimitReached(ISlidable slider) {
+        GameOutput.println(slider.getSymbol() + " stopped due to ability limit.");
+    }
+
+    @Override
+    public void jumped(RockhopperPenguin penguin, ITerrainObject hazard) {
+        GameOutput.println("Rockhopper jumped over " + hazard.getSymbol());
+    }
+
+    @Override
+    public void jumpFailed(RockhopperPenguin penguin, ITerrainObject hazard) {
+        GameOutput.println("Rockhopper failed to jump!");
+    }
+
+    @Override
+    public void collided(ITerrainObject slider, ITerrainObject target, int x, int y) {
+        // Falling into a hole is narrated as an elimination instead
+        if (target.getKind() == ObjectKind.HOLE_IN_ICE) return;
+        GameOutput.println(slider.getSymbol() + " collided with " + target.getSymbol());
+    }
+
+    @Override
+    public void foodPickedUp(Penguin penguin, Food food) {
+        GameOutput.println(penguin.getSymbol() + " takes the " + food.getType()
+                + " on the ground. (Weight=" + food.getWeight() + " units)");
+    }
+
+    @Override
+    public void foodDropped(Penguin penguin, Food food) {
+        GameOutput.println(penguin.getId() + " lost the lightest food item: " + food.getType());
+    }
+
+    @Override
+    public void foodDestroyed(ISlidable hazard, Food food) {
+        GameOutput.println("Food " + food.getSymbol() + " was removed by a sliding hazard.");
+    }
+
+    @Override
+    public void penguinStunned(Penguin penguin) {
+        GameOutput.println(penguin.getId() + " is stunned via LightIceBlock!");
+    }
+
+    @Override
+    public void penguinEliminated(Penguin penguin) {
+        GameOutput.println(penguin.getId() + " fell into the water!");
+    }
+
+    @Override
+    public void slidOffTerrain(ISlidable slider) {
+        if (slider.getKind().isPenguin()) {
+            GameOutput.println("\n*** " + slider.getSymbol() + " IS REMOVED FROM THE GAME!");
+        } else {
+            GameOutput.println(slider.getSymbol() + " fell into water and is gone.");
+        }
+    }
+
+    private static String typeTag(Penguin p) {
+        switch (p.getKind()) {
+            case KING_PENGUIN:       return "King";
+            case EMPEROR_PENGUIN:    return "Emperor";
+            case ROYAL_PENGUIN:      return "Royal";
+            case ROCKHOPPER_PENGUIN: return "Rockhopper";
+            default:                 return p.getClass().getSimpleName();
+        }
+    }
+}
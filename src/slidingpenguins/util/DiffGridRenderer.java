@@ -0,0 +1,185 @@
+package slidingpenguins.util;
+
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import slidingpenguins.core.CellChangeListener;
+import slidingpenguins.core.IcyTerrain;
+import slidingpenguins.objects.ITerrainObject;
+
+/**
+ * Incremental grid renderer.
+ * The first frame of a terrain is drawn in full; after that only the cells
+ * changed since the previous frame are written, so a frame costs O(changes)
+ * instead of O(cells). Changes come from the terrain's change tracking,
+ * which this renderer switches on when it first draws a terrain.
+ *
+ * Two output modes are supported:
+ * - TERMINAL: repaints the changed cells in place using ANSI cursor positioning.
+ *   The grid is drawn at the top of a cleared screen, so this mode is meant for
+ *   a terminal that shows nothing but the grid (narration off or redirected).
+ * - CHANGE_LIST: writes one "x,y=SYMBOL" line per changed cell ("x,y=" for an
+ *   empty cell), for logs, pipes and other non-terminal sinks.
+ *
+ * Like GridRenderer it draws into an OutputSink, by default the narration sink of
+ * the rendering thread, so the frames stay in order with the narration. The changes
+ * of a frame go out as a partial frame (OutputSink.writeFrameUpdate), which a sink
+ * never drops or coalesces; so does the full frame they are drawn over. While the sink is silenced nothing is drawn and the
+ * changes wait in the terrain until the next frame.
+ */
+public class DiffGridRenderer implements TerrainRenderer {
+
+    /**
+     * How the changed cells are written to the output.
+     */
+    public enum Mode {
+        TERMINAL,
+        CHANGE_LIST
+    }
+
+    private static final byte ESC = 0x1B;
+    private static final byte[] CLEAR_SCREEN = "\u001B[2J\u001B[H".getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputSink out; // null: the GameOutput sink of the rendering thread
+    private final Mode mode;
+
+    // Used for the first (full) frame and for the cached padded symbols.
+    private final GridRenderer fullRenderer;
+    private final CellChangeListener cellWriter;
+
+    private IcyTerrain currentTerrain;
+    private byte[] buffer;
+    private int length;
+
+    /**
+     * Creates a terminal renderer that draws into the narration of the rendering thread
+     * (the standard output unless GameOutput was redirected).
+     */
+    public DiffGridRenderer() {
+        this((OutputSink) null, Mode.TERMINAL);
+    }
+
+    /**
+     * Creates an incremental renderer that prints to the given stream.
+     * @param out Destination of the rendered changes
+     * @param mode How the changed cells are written
+     */
+    public DiffGridRenderer(PrintStream out, Mode mode) {
+        this(new PrintStreamSink(out), mode);
+    }
+
+    /**
+     * Creates an incremental renderer that draws into the given sink.
+     * @param out Destination of the rendered changes, or null for the GameOutput sink of the rendering thread
+     * @param mode How the changed cells are written
+     */
+    public DiffGridRenderer(OutputSink out, Mode mode) {
+        this.out = out;
+        this.mode = mode;
+        this.fullRenderer = new GridRenderer(out);
+        this.cellWriter = this::appendChange;
+        this.buffer = new byte[256];
+    }
+
+    /**
+     * Draws the terrain: in full the first time (or after change tracking was
+     * switched off), otherwise only the cells changed since the last call.
+     * @param terrain The game terrain to draw
+     */
+    @Override
+    public void render(IcyTerrain terrain) {
+        OutputSink sink = out != null ? out : GameOutput.getSink();
+        if (sink == null) return;
+        if (terrain == null) {
+            sink.println("Terrain is not initialized!");
+            return;
+        }
+
+        if (terrain != currentTerrain || !terrain.isChangeTracking()) {
+            // Start tracking from this full frame on
+            terrain.setChangeTracking(true);
+            currentTerrain = terrain;
+            if (mode == Mode.TERMINAL) {
+                sink.writeFrameUpdate(CLEAR_SCREEN, 0, CLEAR_SCREEN.length);
+            }
+            // The changes drawn later only make sense over this frame, so it must not be dropped
+            fullRenderer.renderBase(terrain, sink);
+            return;
+        }
+
+        length = 0;
+        terrain.drainChangedCells(cellWriter);
+        if (mode == Mode.TERMINAL) {
+            // Park the cursor below the grid so following output does not overwrite it
+            appendCursorPosition(terrain.getRows() * 2 + 2, 1);
+        }
+        if (length > 0) sink.writeFrameUpdate(buffer, 0, length);
+    }
+
+    private void appendChange(int x, int y, ITerrainObject current) {
+        if (mode == Mode.TERMINAL) {
+            // Row y is on screen line 2 + 2y, its cell x starts at column 2 + 5x (1-based)
+            appendCursorPosition(2 + 2 * y, 2 + 5 * x);
+            append(current == null ? GridRenderer.EMPTY_CELL : fullRenderer.paddedSymbol(current.getSymbol()));
+        } else {
+            appendInt(x);
+            append((byte) ',');
+            appendInt(y);
+            append((byte) '=');
+            if (current != null) {
+                String symbol = current.getSymbol();
+                ensureCapacity(symbol.length());
+                for (int i = 0; i < symbol.length(); i++) {
+                    buffer[length++] = (byte) symbol.charAt(i);
+                }
+            }
+            append(GridRenderer.LINE_SEPARATOR);
+        }
+    }
+
+    /**
+     * Appends the ANSI "cursor position" sequence ESC [ line ; column H.
+     */
+    private void appendCursorPosition(int line, int column) {
+        append(ESC);
+        append((byte) '[');
+        appendInt(line);
+        append((byte) ';');
+        appendInt(column);
+        append((byte) 'H');
+    }
+
+    /**
+     * Appends a non-negative int in decimal without creating a String.
+     */
+    private void appendInt(int value) {
+        int digits = 1;
+        for (int v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        ensureCapacity(digits);
+        for (int i = length + digits - 1; i >= length; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+    }
+
+    private void append(byte b) {
+        ensureCapacity(1);
+        buffer[length++] = b;
+    }
+
+    private void append(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private void ensureCapacity(int extra) {
+        int required = length + extra;
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package slidingpenguins.util;
+
+import java.io.PrintStream;
+
+/**
+ * Utility class that routes the game's console narration.
+ * The destination is kept per thread, so a game running headless on one thread
+ * can be silenced without affecting games (or the interactive console) on others.
+ * By default every thread writes to System.out; setting a null output silences it.
+ * A thread can also narrate into any OutputSink, e.g. an AsyncOutputSink that
+ * takes the console writes off the game thread.
+ */
+public class GameOutput {
+
+    private static final ThreadLocal<OutputSink> sink = ThreadLocal.withInitial(() -> new PrintStreamSink(System.out));
+
+    /**
+     * Returns the destination of the current thread's narration.
+     * @return The sink, or null if narration is silenced
+     */
+    public static OutputSink getSink() {
+        return sink.get();
+    }
+
+    /**
+     * Changes the destination of the current thread's narration.
+     * @param out The new sink, or null to silence the narration
+     */
+    public static void setSink(OutputSink out) {
+        sink.set(out);
+    }
+
+    /**
+     * Changes the destination of the current thread's narration to a stream.
+     * @param out The new output stream, or null to silence the narration
+     */
+    public static void setOutput(PrintStream out) {
+        sink.set(out == null ? null : new PrintStreamSink(out));
+    }
+
+    /**
+     * @return true if narration on the current thread is printed somewhere
+     */
+    public static boolean isEnabled() {
+        return sink.get() != null;
+    }
+
+    public static void println(CharSequence message) {
+        OutputSink out = sink.get();
+        if (out != null) out.println(message);
+    }
+
+    public static void println() {
+        OutputSink out = sink.get();
+        if (out != null) out.println("");
+    }
+
+    public static void print(CharSequence message) {
+        OutputSink out = sink.get();
+        if (out != null) out.print(message);
+    }
+
+    /**
+     * Writes a complete frame of the grid to the current thread's sink (see OutputSink.writeFrame).
+     */
+    public static void writeFrame(byte[] frame, int offset, int length) {
+        OutputSink out = sink.get();
+        if (out != null) out.writeFrame(frame, offset, length);
+    }
+
+    /**
+     * Writes changes to the last frame to the current thread's sink (see OutputSink.writeFrameUpdate).
+     */
+    public static void writeFrameUpdate(byte[] update, int offset, int length) {
+        OutputSink out = sink.get();
+        if (out != null) out.writeFrameUpdate(update, offset, length);
+    }
+
+    /**
+     * Writes out the narration handed over so far, before something else is written
+     * to the console directly (a prompt).
+     */
+    public static void flush() {
+        OutputSink out = sink.get();
+        if (out != null) out.flush();
+    }
+}
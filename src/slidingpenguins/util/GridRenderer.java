@@ -1,72 +1,190 @@
 package slidingpenguins.util;
 
-import java.util.List;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import slidingpenguins.core.GameConstants;
 import slidingpenguins.core.IcyTerrain;
+import slidingpenguins.core.TerrainView;
 import slidingpenguins.objects.ITerrainObject;
 
 /**
  * Utility class responsible for visualizing the game grid in the console.
  * It reads the state of the IcyTerrain and prints it in a formatted table structure
  * matching the assignment's example output.
+ *
+ * Each frame is built into a reusable byte buffer and written to the output
+ * with a single call. Padded cell symbols and border lines are computed once
+ * and cached, so rendering the same grid again allocates nothing.
+ * A renderer keeps per-frame state and is not meant to be shared between threads.
+ *
+ * The frame goes to an OutputSink in one writeFrame call. By default that is the
+ * narration sink of the rendering thread (see GameOutput), so the grid stays in
+ * order with the narration, also when the narration goes through an AsyncOutputSink.
  */
-public class GridRenderer {
+public class GridRenderer implements TerrainRenderer {
+
+    static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+    static final byte[] EMPTY_CELL = GameConstants.EMPTY_CELL_SYMBOL.getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputSink out; // null: the GameOutput sink of the rendering thread
+
+    // Cached " %-3s" padded symbols, keyed by the object's symbol.
+    private final Map<String, byte[]> paddedSymbols;
+
+    private byte[] frame;
+    private int frameLength;
+
+    // Cached horizontal border line (without the line separator) and its column count.
+    private byte[] border;
+    private int borderCols;
+
+    /**
+     * Creates a renderer that draws into the narration of the rendering thread
+     * (the standard output unless GameOutput was redirected).
+     */
+    public GridRenderer() {
+        this((OutputSink) null);
+    }
+
+    /**
+     * Creates a renderer that prints to the given stream.
+     * @param out Destination of the rendered frames
+     */
+    public GridRenderer(PrintStream out) {
+        this(new PrintStreamSink(out));
+    }
+
+    /**
+     * Creates a renderer that draws into the given sink.
+     * @param out Destination of the rendered frames, or null for the GameOutput sink of the rendering thread
+     */
+    public GridRenderer(OutputSink out) {
+        this.out = out;
+        this.paddedSymbols = new HashMap<>();
+        this.frame = new byte[0];
+        this.border = new byte[0];
+        this.borderCols = -1;
+    }
 
     /**
-     * Renders the current state of the IcyTerrain grid to the console.
+     * Renders the current state of the IcyTerrain grid to the output stream.
      * @param terrain The game terrain containing the grid data and objects.
      */
-    public static void render(IcyTerrain terrain) {
+    @Override
+    public void render(IcyTerrain terrain) {
+        OutputSink sink = out != null ? out : GameOutput.getSink();
+        if (sink == null) return;
         if (terrain == null) {
-            System.out.println("Terrain is not initialized!");
+            sink.println("Terrain is not initialized!");
             return;
         }
 
-        List<List<ITerrainObject>> grid = terrain.getGrid();
-
         // Important: "The initial icy terrain grid:" and
         // "New state of the grid:" are printed from IcyTerrain.startGame().
         // So we do not print an extra title here.
         // Just print the grid itself like in the PDF example.
+        buildFrame(terrain.getView());
+        sink.writeFrame(frame, 0, frameLength);
+    }
+
+    /**
+     * Draws the whole grid as a frame update (OutputSink.writeFrameUpdate), which a
+     * sink never drops or coalesces. Used by DiffGridRenderer for the frame its
+     * later changes are drawn over.
+     * @param terrain The game terrain to draw
+     * @param sink Destination of the frame
+     */
+    void renderBase(IcyTerrain terrain, OutputSink sink) {
+        buildFrame(terrain.getView());
+        sink.writeFrameUpdate(frame, 0, frameLength);
+    }
+
+    /**
+     * Builds the full frame of the grid into the reusable buffer.
+     * @param grid Read-only view of the grid to draw
+     */
+    private void buildFrame(TerrainView grid) {
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        frameLength = 0;
 
         // Print the top border of the grid
-        printHorizontalBorder();
+        appendHorizontalBorder(cols);
 
         // Loop through each row
-        for (int y = 0; y < GameConstants.GRID_ROWS; y++) {
-            System.out.print("|"); // Leftmost border for the row
+        for (int y = 0; y < rows; y++) {
+            append((byte) '|'); // Leftmost border for the row
 
             // Loop through each column in the row
-            for (int x = 0; x < GameConstants.GRID_COLS; x++) {
-                ITerrainObject obj = grid.get(y).get(x);
-
-                String cellContent;
-                if (obj == null) {
-                    cellContent = GameConstants.EMPTY_CELL_SYMBOL;
-                } else {
-                    cellContent = String.format(" %-3s", obj.getSymbol());
-                }
-
-                System.out.print(cellContent + "|"); // Content + Vertical separator
+            for (int x = 0; x < cols; x++) {
+                ITerrainObject obj = grid.getObjectAt(x, y);
+                append(obj == null ? EMPTY_CELL : paddedSymbol(obj.getSymbol()));
+                append((byte) '|'); // Vertical separator
             }
-            System.out.println(); // Move to the next line
+            append(LINE_SEPARATOR); // Move to the next line
 
             // Print the horizontal divider after each row to create a grid effect
-            printHorizontalBorder();
+            appendHorizontalBorder(cols);
         }
     }
 
     /**
-     * Helper method to print the horizontal dashed lines between rows.
+     * Helper method to append the horizontal dashed lines between rows.
      * Creates the grid border effect matching the PDF example output.
      * Dynamic length based on column count (5 dashes per column + 1).
+     * @param cols Number of columns of the rendered grid
      */
-    private static void printHorizontalBorder() {
+    private void appendHorizontalBorder(int cols) {
         // Note: No leading space, to match the PDF's
         // "-------------------------------------------------------------"
-        for (int i = 0; i < GameConstants.GRID_COLS; i++) {
-            System.out.print("-----");
+        if (borderCols != cols) {
+            border = new byte[cols * 5 + 1];
+            Arrays.fill(border, (byte) '-');
+            borderCols = cols;
+        }
+        append(border);
+        append(LINE_SEPARATOR);
+    }
+
+    /**
+     * Returns the cell content for a symbol, equivalent to String.format(" %-3s", symbol).
+     * The result is computed once per distinct symbol.
+     */
+    byte[] paddedSymbol(String symbol) {
+        byte[] padded = paddedSymbols.get(symbol);
+        if (padded == null) {
+            StringBuilder sb = new StringBuilder(" ").append(symbol);
+            while (sb.length() < 4) {
+                sb.append(' ');
+            }
+            padded = sb.toString().getBytes(StandardCharsets.US_ASCII);
+            paddedSymbols.put(symbol, padded);
+        }
+        return padded;
+    }
+
+    private void append(byte b) {
+        ensureCapacity(1);
+        frame[frameLength++] = b;
+    }
+
+    private void append(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, frame, frameLength, bytes.length);
+        frameLength += bytes.length;
+    }
+
+    /**
+     * Grows the frame buffer if needed. The buffer is kept between frames,
+     * so it only grows while the first frames of a grid are drawn.
+     */
+    private void ensureCapacity(int extra) {
+        int required = frameLength + extra;
+        if (required > frame.length) {
+            frame = Arrays.copyOf(frame, Math.max(required, frame.length * 2));
         }
-        System.out.println("-");
     }
 }
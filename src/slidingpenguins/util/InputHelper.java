@@ -21,6 +21,7 @@ public class InputHelper {
      */
     public static Direction getDirection(String message) {
         while (true) {
+            GameOutput.flush(); // the narration so far comes before the prompt
             System.out.print(message);
             // Read input, trim spaces, and convert to uppercase to handle "u", "U ", etc.
             String input = scanner.nextLine().trim().toUpperCase(); 
@@ -45,6 +46,7 @@ public class InputHelper {
      */
     public static boolean getYesNo(String message) {
         while (true) {
+            GameOutput.flush(); // the narration so far comes before the prompt
             System.out.print(message);
             String input = scanner.nextLine().trim().toUpperCase();
 
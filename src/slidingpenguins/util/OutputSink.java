@@ -0,0 +1,44 @@
+package slidingpenguins.util;
+
+/**
+ * Destination of the console output of a game: narration lines and rendered frames.
+ * GameOutput writes the narration of a thread to one, and GridRenderer can draw into one.
+ * Every call hands over a complete piece of output, so a sink never sees half a line
+ * or half a frame (see AsyncOutputSink, which may drop or coalesce them as a whole).
+ * Partial frames are the exception to dropping and coalescing (see writeFrameUpdate).
+ */
+public interface OutputSink {
+
+    void print(CharSequence text);
+
+    /**
+     * Writes a line of text followed by the line separator.
+     */
+    void println(CharSequence text);
+
+    /**
+     * Writes a complete frame of the grid, already encoded.
+     * The bytes are copied or written before the call returns, so the caller can reuse the array.
+     * @param frame Encoded frame
+     * @param offset First byte of the frame
+     * @param length Length of the frame in bytes
+     */
+    void writeFrame(byte[] frame, int offset, int length);
+
+    /**
+     * Writes a partial frame: changes to the frames written before it (see DiffGridRenderer),
+     * or a complete frame that later partial frames are drawn over.
+     * Unlike a complete frame it only makes sense after everything written before it, so it
+     * keeps its place in the output and is never dropped or replaced by a newer frame.
+     * The bytes are copied or written before the call returns, so the caller can reuse the array.
+     * @param update Encoded changes
+     * @param offset First byte of the changes
+     * @param length Length of the changes in bytes
+     */
+    void writeFrameUpdate(byte[] update, int offset, int length);
+
+    /**
+     * Writes out everything handed over so far.
+     */
+    void flush();
+}
@@ -0,0 +1,41 @@
+package slidingpenguins.util;
+
+import java.io.PrintStream;
+
+/**
+ * Output sink that writes synchronously to a PrintStream, frames flushed as soon as they are written.
+ */
+final class PrintStreamSink implements OutputSink {
+
+    private final PrintStream out;
+
+    PrintStreamSink(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void print(CharSequence text) {
+        out.print(text);
+    }
+
+    @Override
+    public void println(CharSequence text) {
+        out.println(text);
+    }
+
+    @Override
+    public void writeFrame(byte[] frame, int offset, int length) {
+        out.write(frame, offset, length);
+        out.flush();
+    }
+
+    @Override
+    public void writeFrameUpdate(byte[] update, int offset, int length) {
+        writeFrame(update, offset, length);
+    }
+
+    @Override
+    public void flush() {
+        out.flush();
+    }
+}
@@ -0,0 +1,16 @@
+package slidingpenguins.util;
+
+import slidingpenguins.core.IcyTerrain;
+
+/**
+ * Common interface of the grid renderers used by the IcyTerrain after every turn.
+ * Implemented by the full-frame {@link GridRenderer} and the incremental {@link DiffGridRenderer}.
+ */
+public interface TerrainRenderer {
+
+    /**
+     * Draws the current state of the terrain.
+     * @param terrain The game terrain to draw
+     */
+    void render(IcyTerrain terrain);
+}